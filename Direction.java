@@ -1,3 +0,0 @@
-public enum Direction {
-    RIGHT, LEFT, UP, DOWN
-}
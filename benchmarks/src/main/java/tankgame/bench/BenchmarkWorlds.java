@@ -0,0 +1,70 @@
+package tankgame.bench;
+
+import tankgame.BulletPool;
+import tankgame.Direction;
+import tankgame.GameMap;
+import tankgame.GameWorld;
+import tankgame.Tanks;
+
+import java.util.Random;
+
+/**
+ * Fills a benchmark's world with enemies and bullets at random spots of the playable
+ * area, from a fixed seed so runs can be compared.
+ */
+final class BenchmarkWorlds {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final GameWorld gameWorld;
+    private final Random random;
+
+    // Playable area of the map in pixels, inside the border walls
+    private final int maxX, maxY;
+
+    BenchmarkWorlds(GameWorld gameWorld, long seed) {
+        this.gameWorld = gameWorld;
+        this.random = new Random(seed);
+        GameMap map = gameWorld.getGameMap();
+        maxX = (map.getCols() - 1) * GameMap.TILE_SIZE - 34;
+        maxY = (map.getRows() - 1) * GameMap.TILE_SIZE - 34;
+    }
+
+    Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Brings the world to exactly the given numbers of enemies and bullets, keeps the
+     * player alive and points the flow field at it.
+     */
+    void fill(int enemies, int bullets) {
+        Tanks tanks = gameWorld.getTanks();
+        while (gameWorld.getEnemyCount() < enemies) {
+            tanks.setPosition(gameWorld.spawnEnemy(), randomX(), randomY());
+        }
+        tanks.truncate(Tanks.PLAYER + 1 + enemies);
+
+        BulletPool pool = gameWorld.getBulletManager().getBullets();
+        while (pool.size() < bullets) {
+            Direction direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+            byte owner = random.nextBoolean() ? BulletPool.PLAYER : BulletPool.ENEMY;
+            pool.spawn(owner, direction, randomX(), randomY());
+        }
+        for (int slot = bullets; slot < pool.size(); slot++) {
+            pool.kill(slot);
+        }
+        pool.compact();
+
+        tanks.setLife(Tanks.PLAYER, 3);
+        gameWorld.getFlowField().update(gameWorld.getGameMap(),
+                tanks.getX(Tanks.PLAYER), tanks.getY(Tanks.PLAYER));
+    }
+
+    private double randomX() {
+        return GameMap.TILE_SIZE + random.nextInt(maxX - GameMap.TILE_SIZE);
+    }
+
+    private double randomY() {
+        return GameMap.TILE_SIZE + random.nextInt(maxY - GameMap.TILE_SIZE);
+    }
+}
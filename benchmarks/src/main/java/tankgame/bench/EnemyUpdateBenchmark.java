@@ -0,0 +1,88 @@
+package tankgame.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import tankgame.EnemyUpdater;
+import tankgame.GameMap;
+import tankgame.GameWorld;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the enemy AI update by number of worker threads.
+ * threads = 1 is the serial update without a pool; higher values split the plan
+ * phase across a ForkJoinPool of that size. Compare the scores of one entity count
+ * across thread counts to see how the update scales with cores.
+ *
+ * Enemy updates never destroy tanks, so the world is filled once per trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnemyUpdateBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int entities;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    private GameWorld gameWorld;
+    private EnemyUpdater updater;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUpWorld() {
+        Random random = new Random(42);
+        gameWorld = new GameWorld(42);
+
+        GameMap map = gameWorld.getGameMap();
+        int maxX = (map.getCols() - 1) * GameMap.TILE_SIZE - 34;
+        int maxY = (map.getRows() - 1) * GameMap.TILE_SIZE - 34;
+        for (int i = 0; i < entities; i++) {
+            gameWorld.getTanks().setPosition(gameWorld.spawnEnemy(),
+                    GameMap.TILE_SIZE + random.nextInt(maxX - GameMap.TILE_SIZE),
+                    GameMap.TILE_SIZE + random.nextInt(maxY - GameMap.TILE_SIZE));
+        }
+
+        updater = gameWorld.getEnemyUpdater();
+        if (threads > 1) {
+            pool = new ForkJoinPool(threads);
+            updater.setPool(pool);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void shutDownPool() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * One tick of enemy AI; the score is enemy ticks per second.
+     * Bullets fired by the tanks are dropped so the pool does not grow without bound.
+     */
+    @Benchmark
+    public void enemyUpdate() {
+        updater.update(gameWorld);
+        gameWorld.getBulletManager().clearBullet();
+        gameWorld.frame++;
+    }
+}
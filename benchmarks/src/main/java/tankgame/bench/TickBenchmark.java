@@ -0,0 +1,87 @@
+package tankgame.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tankgame.GameWorld;
+import tankgame.InputSystem;
+import tankgame.PlayerInput;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one simulation tick for each per-frame update path, at a fixed number of
+ * live enemy tanks and bullets. Every benchmark call is one tick, so the reported
+ * score is ns per tick; run with "-prof gc" and read gc.alloc.rate.norm for bytes
+ * allocated per tick.
+ *
+ * Bullets and tanks are destroyed by the very update being measured, so the world
+ * is topped back up to the parameterized counts before every call. Paths that leave
+ * the world alone are in WorldQueryBenchmark, without the per-call setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickBenchmark {
+
+    // Number of live enemy tanks and live bullets
+    @Param({"10", "100", "1000", "10000"})
+    private int entities;
+
+    private GameWorld gameWorld;
+    private BenchmarkWorlds worlds;
+
+    @Setup(Level.Trial)
+    public void setUpWorld() {
+        gameWorld = new GameWorld(42);
+        worlds = new BenchmarkWorlds(gameWorld, 42);
+    }
+
+    /**
+     * Restores exactly {@code entities} enemies and bullets and keeps the player alive.
+     */
+    @Setup(Level.Invocation)
+    public void topUp() {
+        worlds.fill(entities, entities);
+    }
+
+    @Benchmark
+    public void bulletManagerUpdate() {
+        gameWorld.getBulletManager().update();
+    }
+
+    /**
+     * AI, movement and firing of every enemy tank, on the calling thread.
+     */
+    @Benchmark
+    public void enemyTankUpdate() {
+        gameWorld.getEnemyUpdater().update(gameWorld);
+        gameWorld.frame++;
+    }
+
+    /**
+     * Input, movement and firing of the player's tank.
+     */
+    @Benchmark
+    public void playerTankUpdate() {
+        InputSystem.update(gameWorld, PlayerInput.LEFT | PlayerInput.FIRE);
+        gameWorld.frame++;
+    }
+
+    @Benchmark
+    public void worldTick() {
+        gameWorld.tick(PlayerInput.LEFT | PlayerInput.FIRE);
+    }
+}
@@ -0,0 +1,102 @@
+package tankgame.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import tankgame.FlowField;
+import tankgame.GameMap;
+import tankgame.GameWorld;
+import tankgame.SaveState;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the per-tick paths that leave the world as it is: map probes, a flow field
+ * search and a save state capture and restore, at a fixed number of live enemy tanks
+ * and bullets. The world is filled once per trial, since nothing here destroys
+ * entities and a per-call setup would outweigh calls this short.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldQueryBenchmark {
+
+    // Number of live enemy tanks, live bullets and map probes per call
+    @Param({"10", "100", "1000", "10000"})
+    private int entities;
+
+    private GameWorld gameWorld;
+
+    // Snapshot of the filled world, for the save state benchmarks
+    private final SaveState saveState = new SaveState();
+
+    // Field searched by flowFieldSearch, and the coordinate it last targeted
+    private final FlowField flowField = new FlowField();
+    private int flowFieldTarget = GameMap.TILE_SIZE * 4;
+
+    // Precomputed tile coordinates for the isWall benchmark
+    private int[] probeRows;
+    private int[] probeCols;
+
+    @Setup(Level.Trial)
+    public void setUpWorld() {
+        gameWorld = new GameWorld(42);
+        BenchmarkWorlds worlds = new BenchmarkWorlds(gameWorld, 42);
+        worlds.fill(entities, entities);
+        saveState.capture(gameWorld);
+
+        Random random = worlds.getRandom();
+        GameMap map = gameWorld.getGameMap();
+        probeRows = new int[entities];
+        probeCols = new int[entities];
+        for (int i = 0; i < entities; i++) {
+            probeRows[i] = random.nextInt(map.getRows());
+            probeCols[i] = random.nextInt(map.getCols());
+        }
+    }
+
+    @Benchmark
+    public void gameMapIsWall(Blackhole blackhole) {
+        GameMap map = gameWorld.getGameMap();
+        for (int i = 0; i < probeRows.length; i++) {
+            blackhole.consume(map.isWall(probeRows[i], probeCols[i]));
+        }
+    }
+
+    /**
+     * A full flow field search, as when the player steps onto another tile; the target
+     * alternates between two tiles so every call searches.
+     */
+    @Benchmark
+    public void flowFieldSearch() {
+        flowFieldTarget = GameMap.TILE_SIZE * 10 - flowFieldTarget;
+        flowField.update(gameWorld.getGameMap(), flowFieldTarget, flowFieldTarget);
+    }
+
+    @Benchmark
+    public void saveStateCapture() {
+        saveState.capture(gameWorld);
+    }
+
+    /**
+     * Restores the same snapshot every call, so the world stays as it was filled.
+     */
+    @Benchmark
+    public void saveStateRestore() {
+        saveState.restore(gameWorld);
+    }
+}
@@ -0,0 +1,100 @@
+package tankgame;
+
+/**
+ * Enemy AI: for every AI-driven tank, decides where it goes and whether it shoots.
+ * A tank moves one step toward the player along the world's FlowField (or wanders,
+ * changing direction randomly every second, if the player can't be reached), and
+ * randomly decides to fire when the player is in its line of fire and its weapon
+ * has cooled down. EnemyUpdater schedules it, possibly across threads.
+ */
+public final class AiSystem {
+    private static final Direction[] WANDER = {
+            Direction.LEFT, Direction.RIGHT, Direction.UP, Direction.DOWN
+    };
+
+    private AiSystem() {
+    }
+
+    /**
+     * Decides the new direction of one tank, moves it against the walls and sets its
+     * fire intent. Only the tank's own row is written and the map, flow field, player
+     * and frame counter are only read, so different tanks can plan concurrently.
+     */
+    static void plan(GameWorld gameWorld, int row) {
+        Tanks tanks = gameWorld.getTanks();
+        GameRandom random = tanks.random[row];
+        tanks.prevX[row] = tanks.x[row];
+        tanks.prevY[row] = tanks.y[row];
+
+        // Head for the player along the shared flow field
+        GameMap map = gameWorld.getGameMap();
+        int next = gameWorld.getFlowField().getDirection(
+                GameMap.toTile(tanks.y[row] + 16), GameMap.toTile(tanks.x[row] + 16));
+        if (next == FlowField.AT_TARGET) {
+            // Already on the player's tile: hold position
+        } else if (next != FlowField.NO_PATH) {
+            MovementSystem.move(tanks, row, Direction.fromOrdinal(next), map);
+        } else {
+            // No way to the player from here: change direction randomly every 60 frames
+            // (approximately once per second)
+            Direction direction = tanks.getDirection(row);
+            if (gameWorld.frame % 60 == 0) {
+                direction = WANDER[random.nextInt(4)];
+            }
+
+            // Move in the current direction
+            MovementSystem.move(tanks, row, direction, map);
+        }
+
+        // Fire a bullet randomly once the weapon has cooled down,
+        // but only if it would reach the player rather than a wall
+        tanks.fireIntent[row] = (gameWorld.frame - tanks.lastShot[row]) >= tanks.type[row].fireCooldown
+                && random.nextInt() % 30 == 0
+                && hasLineOfSight(gameWorld, row);
+    }
+
+    /**
+     * Whether a bullet fired now would fly into the player before reaching a wall.
+     * Bullets only travel along the facing row or column, so instead of walking the
+     * tiles on the way, the first wall is looked up in the map's WallIndex by binary search.
+     */
+    private static boolean hasLineOfSight(GameWorld gameWorld, int row) {
+        Tanks tanks = gameWorld.getTanks();
+        double playerX = tanks.x[Tanks.PLAYER];
+        double playerY = tanks.y[Tanks.PLAYER];
+        double bulletX = tanks.x[row] + FiringSystem.MUZZLE_OFFSET;
+        double bulletY = tanks.y[row] + FiringSystem.MUZZLE_OFFSET;
+        int size = BulletManager.TANK_SIZE;
+        int width = BulletManager.BULLET_WIDTH;
+        int height = BulletManager.BULLET_HEIGHT;
+
+        GameMap map = gameWorld.getGameMap();
+        int tileRow = GameMap.toTile(bulletY);
+        int col = GameMap.toTile(bulletX);
+        if (tileRow < 0 || col < 0 || tileRow >= map.getRows() || col >= map.getCols()) {
+            return false;
+        }
+        WallIndex walls = map.getWallIndex();
+
+        switch (tanks.getDirection(row)) {
+            case RIGHT:
+                return bulletY < playerY + size && playerY < bulletY + height
+                        && playerX + size > bulletX
+                        && playerX - width < walls.wallRight(tileRow, col) * GameMap.TILE_SIZE;
+            case LEFT:
+                return bulletY < playerY + size && playerY < bulletY + height
+                        && playerX < bulletX + width
+                        && playerX + size > (walls.wallLeft(tileRow, col) + 1) * GameMap.TILE_SIZE;
+            case DOWN:
+                return bulletX < playerX + size && playerX < bulletX + width
+                        && playerY + size > bulletY
+                        && playerY - height < walls.wallDown(tileRow, col) * GameMap.TILE_SIZE;
+            case UP:
+                return bulletX < playerX + size && playerX < bulletX + width
+                        && playerY < bulletY + height
+                        && playerY + size > (walls.wallUp(tileRow, col) + 1) * GameMap.TILE_SIZE;
+            default:
+                return false;
+        }
+    }
+}
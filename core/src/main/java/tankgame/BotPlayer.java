@@ -0,0 +1,45 @@
+package tankgame;
+
+/**
+ * Scripted stand-in for the keyboard, e.g. for stress tests: drives the player's tank
+ * in one direction for a while, turns when it is blocked or the time is up, and keeps
+ * the fire key held. It only reads the world, so a bot with the same seed produces the
+ * same inputs for the same world.
+ */
+public class BotPlayer {
+    private static final int[] DIRECTIONS = {PlayerInput.UP, PlayerInput.DOWN, PlayerInput.LEFT, PlayerInput.RIGHT};
+
+    // Range of ticks a direction is held for before the bot picks another one
+    static final int MIN_HOLD_TICKS = 15;
+    static final int MAX_HOLD_TICKS = 90;
+
+    private final GameRandom random;
+    private int direction = PlayerInput.NONE;
+    private int holdTicks = 0;
+
+    // Player position the last input was chosen at; NaN before the first one
+    private double lastX = Double.NaN, lastY = Double.NaN;
+
+    public BotPlayer(long seed) {
+        random = new GameRandom(seed);
+    }
+
+    /**
+     * Chooses the PlayerInput flags for the world's next tick.
+     */
+    public int nextInput(GameWorld gameWorld) {
+        Tanks tanks = gameWorld.getTanks();
+        double x = tanks.getX(Tanks.PLAYER);
+        double y = tanks.getY(Tanks.PLAYER);
+
+        // Not having moved since the last input means a wall is in the way
+        boolean blocked = x == lastX && y == lastY;
+        if (--holdTicks <= 0 || blocked) {
+            direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+            holdTicks = MIN_HOLD_TICKS + random.nextInt(MAX_HOLD_TICKS - MIN_HOLD_TICKS + 1);
+        }
+        lastX = x;
+        lastY = y;
+        return direction | PlayerInput.FIRE;
+    }
+}
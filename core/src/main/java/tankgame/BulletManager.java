@@ -0,0 +1,201 @@
+package tankgame;
+
+/**
+ * Manages all bullets in the game (player and enemy) and is the collision system:
+ * it moves every bullet and resolves its hits against walls and the tanks of the
+ * other team. The bullets themselves live in a BulletPool of primitive arrays and
+ * the tanks in Tanks, so the pass is a plain loop over arrays.
+ */
+public class BulletManager {
+    // Hitbox sizes of bullets and tanks
+    static final int BULLET_WIDTH = 13;
+    static final int BULLET_HEIGHT = 10;
+    static final int TANK_SIZE = 32;
+
+    // Distance a bullet travels per tick
+    static final double BULLET_SPEED = 4.0;
+
+    // Every active bullet in the game
+    private final BulletPool bullets = new BulletPool();
+
+    private GameWorld gameWorld;
+
+    /**
+     * Initializes the bullet manager with the current game world.
+     */
+    BulletManager (GameWorld gameWorld) {
+        this.gameWorld = gameWorld;
+    }
+
+    /**
+     * Creates and adds a new bullet to the game.
+     *
+     * @param team the team of the tank that fired it, BulletPool.PLAYER or BulletPool.ENEMY
+     */
+    public void createNewBullet (byte team, Direction direction, double x, double y) {
+        bullets.spawn(team, direction, x, y);
+    }
+
+    /**
+     * Creates a small explosion effect at the specified position.
+     * Used for bullet-wall collisions.
+     */
+    public void createSmallExplosion (double x, double y) {
+        gameWorld.getEffects().spawn(x, y, false, gameWorld.frame);
+        explosionEvent(x, y, false);
+    }
+
+    /**
+     * Creates a large explosion effect at the specified position.
+     * Used for bullet-tank collisions.
+     */
+    public void createExplosion (double x, double y) {
+        gameWorld.getEffects().spawn(x, y, true, gameWorld.frame);
+        explosionEvent(x, y, true);
+    }
+
+    private void explosionEvent (double x, double y, boolean large) {
+        GameEvents.Explosion event = new GameEvents.Explosion();
+        if (event.isEnabled()) {
+            event.frame = gameWorld.frame;
+            event.large = large;
+            event.x = x;
+            event.y = y;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records a bullet hit for JFR; tank is a row of Tanks, or -1 for walls.
+     */
+    private void collisionEvent (int bullet, Tanks tanks, int tank, double x, double y) {
+        GameEvents.Collision event = new GameEvents.Collision();
+        if (event.isEnabled()) {
+            event.frame = gameWorld.frame;
+            event.bulletTeam = bullets.getOwner(bullet) == BulletPool.PLAYER ? GameEvents.PLAYER : GameEvents.ENEMY;
+            if (tank < 0) {
+                event.target = GameEvents.WALL;
+                event.tankId = -1;
+            } else {
+                event.target = tank == Tanks.PLAYER ? GameEvents.PLAYER : GameEvents.ENEMY;
+                event.tankId = tanks.getId(tank);
+            }
+            event.x = x;
+            event.y = y;
+            event.commit();
+        }
+    }
+
+    /**
+     * Removes every bullet from the pool.
+     * Typically called on game reset or restart.
+     */
+    public void clearBullet () {
+        bullets.clear();
+    }
+
+    /**
+     * Updates the state of all bullets in the game.
+     * - Moves bullets forward in their direction.
+     * - Detects and handles collisions with walls, the player tank, and enemy tanks.
+     * - Removes bullets that have collided; a bullet stops at the first thing it hits.
+     * - Damages the tank that was hit: the player respawns, enemies are destroyed
+     *   once out of life.
+     * - Creates explosions upon collision for visual feedback.
+     * Hit tests compare the axis-aligned boxes directly, so the pass allocates nothing.
+     */
+    public void update() {
+        Tanks tanks = gameWorld.getTanks();
+        SpatialGrid grid = gameWorld.getEnemyGrid();
+        GameMap map = gameWorld.getGameMap();
+
+        for (int bullet = 0; bullet < bullets.size(); bullet++) {
+            // Move the bullet based on its direction and speed
+            bullets.move(bullet, BULLET_SPEED);
+            double bulletX = bullets.getX(bullet);
+            double bulletY = bullets.getY(bullet);
+
+            // Convert bullet's position to map grid coordinates
+            int bulletColumn = GameMap.toTile(bulletX);
+            int bulletRow = GameMap.toTile(bulletY);
+
+            // Check if bullet hits a wall tile
+            if (map.isWall(bulletRow, bulletColumn)) {
+                // Mark bullet for deletion from the pool
+                bullets.kill(bullet);
+                collisionEvent(bullet, tanks, -1, bulletX, bulletY);
+
+                // Create a small explosion effect at the impact point
+                createSmallExplosion(bulletX, bulletY);
+                continue;
+            }
+
+            // Check for collision with the player tank (only for enemy bullets)
+            if (bullets.getOwner(bullet) == BulletPool.ENEMY) {
+                int player = Tanks.PLAYER;
+                if (Collision.overlaps(bulletX, bulletY, BULLET_WIDTH, BULLET_HEIGHT,
+                        tanks.x[player], tanks.y[player], TANK_SIZE, TANK_SIZE)) {
+                    bullets.kill(bullet);
+                    collisionEvent(bullet, tanks, player, bulletX, bulletY);
+                    hit(tanks, player);
+
+                    // Explosion effect for the hit
+                    createExplosion(bulletX, bulletY);
+                }
+                continue;
+            }
+
+            // Check for collisions with nearby enemy tanks (only for player bullets)
+            // A tank is anchored at its top-left tile, so any tank overlapping the bullet
+            // is anchored between one tank size up/left and one bullet size down/right
+            int minRow = grid.clampRow((int) Math.floor((bulletY - TANK_SIZE) / GameMap.TILE_SIZE));
+            int maxRow = grid.clampRow((int) Math.floor((bulletY + BULLET_HEIGHT) / GameMap.TILE_SIZE));
+            int minCol = grid.clampCol((int) Math.floor((bulletX - TANK_SIZE) / GameMap.TILE_SIZE));
+            int maxCol = grid.clampCol((int) Math.floor((bulletX + BULLET_WIDTH) / GameMap.TILE_SIZE));
+
+            search:
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int col = minCol; col <= maxCol; col++) {
+                    for (int tank = grid.head(row, col); tank != SpatialGrid.NONE; tank = grid.next(tank)) {
+                        if (Collision.overlaps(bulletX, bulletY, BULLET_WIDTH, BULLET_HEIGHT,
+                                tanks.x[tank], tanks.y[tank], TANK_SIZE, TANK_SIZE)) {
+                            bullets.kill(bullet);
+                            collisionEvent(bullet, tanks, tank, bulletX, bulletY);
+                            hit(tanks, tank);
+
+                            // Explosion effect for the hit
+                            createExplosion(bulletX, bulletY);
+                            break search;
+                        }
+                    }
+                }
+            }
+        }
+
+        // Remove all enemy tanks that were destroyed
+        tanks.compact();
+        // Swap-remove all bullets that were marked for deletion
+        bullets.compact();
+    }
+
+    /**
+     * Takes a life from a tank that was hit. Tanks that respawn go back to the player
+     * spawn; the others are destroyed once out of life (and taken out of the grid right
+     * away, so no other bullet scores them this tick), scoring their points.
+     */
+    private void hit(Tanks tanks, int tank) {
+        TankType type = tanks.type[tank];
+        tanks.life[tank]--;
+        if (type.respawns) {
+            GameMap map = gameWorld.getGameMap();
+            tanks.setPosition(tank, map.getPlayerSpawnX(), map.getPlayerSpawnY());
+        } else if (tanks.life[tank] <= 0) {
+            tanks.kill(tank);
+            gameWorld.setScore(gameWorld.getScore() + type.score);
+        }
+    }
+
+    public BulletPool getBullets () {
+        return bullets;
+    }
+}
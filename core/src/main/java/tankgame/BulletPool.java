@@ -0,0 +1,251 @@
+package tankgame;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Stores every live bullet in parallel primitive arrays (struct-of-arrays).
+ * Live bullets are packed into slots [0, size); the slots after them are the free
+ * list, so spawning takes the first free slot and no per-bullet objects exist.
+ * Bullets killed during a pass are only flagged dead and are swap-removed by
+ * {@link #compact()} once the pass is over, so indices stay valid while iterating.
+ * The arrays only grow (by doubling) and are never shrunk, which keeps sustained
+ * heavy fire free of garbage.
+ */
+public class BulletPool {
+    // Who fired the bullet; player bullets hit enemies, enemy bullets hit the player
+    public static final byte PLAYER = 0;
+    public static final byte ENEMY = 1;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // Unit step along x and y for each direction, indexed by ordinal
+    private static final double[] STEP_X = new double[DIRECTIONS.length];
+    private static final double[] STEP_Y = new double[DIRECTIONS.length];
+
+    static {
+        STEP_X[Direction.RIGHT.ordinal()] = 1;
+        STEP_X[Direction.LEFT.ordinal()] = -1;
+        STEP_Y[Direction.DOWN.ordinal()] = 1;
+        STEP_Y[Direction.UP.ordinal()] = -1;
+    }
+    private static final int INITIAL_CAPACITY = 64;
+
+    private double[] x;
+    private double[] y;
+
+    // Position before the last move, for render interpolation
+    private double[] prevX;
+    private double[] prevY;
+    private byte[] direction;
+    private byte[] owner;
+    private boolean[] alive;
+
+    // Stable id of each bullet (slots move during compaction), and the next id to hand out
+    private int[] id;
+    private int nextId = 0;
+
+    private int size = 0;
+    private int deadCount = 0;
+
+    public BulletPool() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public BulletPool(int capacity) {
+        x = new double[capacity];
+        y = new double[capacity];
+        prevX = new double[capacity];
+        prevY = new double[capacity];
+        direction = new byte[capacity];
+        owner = new byte[capacity];
+        alive = new boolean[capacity];
+        id = new int[capacity];
+    }
+
+    /**
+     * Places a new bullet in the first free slot and returns that slot.
+     */
+    public int spawn(byte owner, Direction direction, double x, double y) {
+        if (size == this.x.length) {
+            grow();
+        }
+        int slot = size++;
+        this.x[slot] = x;
+        this.y[slot] = y;
+        this.prevX[slot] = x;
+        this.prevY[slot] = y;
+        this.direction[slot] = (byte) direction.ordinal();
+        this.owner[slot] = owner;
+        this.alive[slot] = true;
+        this.id[slot] = nextId++;
+        return slot;
+    }
+
+    /**
+     * Flags a bullet as dead; its slot is reclaimed by the next compact().
+     */
+    public void kill(int slot) {
+        if (alive[slot]) {
+            alive[slot] = false;
+            deadCount++;
+        }
+    }
+
+    /**
+     * Swap-removes every dead bullet, moving the last live bullet into each hole.
+     * Runs in O(size) and does nothing when no bullet died.
+     */
+    public void compact() {
+        if (deadCount == 0) {
+            return;
+        }
+        int slot = 0;
+        while (slot < size) {
+            if (alive[slot]) {
+                slot++;
+                continue;
+            }
+            int last = --size;
+            x[slot] = x[last];
+            y[slot] = y[last];
+            prevX[slot] = prevX[last];
+            prevY[slot] = prevY[last];
+            direction[slot] = direction[last];
+            owner[slot] = owner[last];
+            alive[slot] = alive[last];
+            id[slot] = id[last];
+            alive[last] = false;
+        }
+        deadCount = 0;
+    }
+
+    public void clear() {
+        for (int slot = 0; slot < size; slot++) {
+            alive[slot] = false;
+        }
+        size = 0;
+        deadCount = 0;
+    }
+
+    /**
+     * Moves the bullet in a slot one step of the given length along its direction.
+     */
+    public void move(int slot, double distance) {
+        int d = direction[slot];
+        prevX[slot] = x[slot];
+        prevY[slot] = y[slot];
+        x[slot] += STEP_X[d] * distance;
+        y[slot] += STEP_Y[d] * distance;
+    }
+
+    /**
+     * Bytes writeState() needs per live bullet, after a 4-byte count.
+     */
+    static final int STATE_BYTES = 4 + 4 * 8 + 1 + 1;
+
+    /**
+     * Writes the live bullets for SaveState: the next id and the count, then each
+     * bullet's id, position, previous position, direction and owner.
+     */
+    void writeState(ByteBuffer out) {
+        out.putInt(nextId).putInt(size - deadCount);
+        for (int slot = 0; slot < size; slot++) {
+            if (!alive[slot]) {
+                continue;
+            }
+            out.putInt(id[slot]);
+            out.putDouble(x[slot]).putDouble(y[slot]).putDouble(prevX[slot]).putDouble(prevY[slot]);
+            out.put(direction[slot]).put(owner[slot]);
+        }
+    }
+
+    /**
+     * Replaces every bullet with the ones written by writeState().
+     */
+    void readState(ByteBuffer in) {
+        clear();
+        nextId = in.getInt();
+        int count = in.getInt();
+        while (x.length < count) {
+            grow();
+        }
+        for (int slot = 0; slot < count; slot++) {
+            id[slot] = in.getInt();
+            x[slot] = in.getDouble();
+            y[slot] = in.getDouble();
+            prevX[slot] = in.getDouble();
+            prevY[slot] = in.getDouble();
+            direction[slot] = in.get();
+            owner[slot] = in.get();
+            alive[slot] = true;
+        }
+        size = count;
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        direction = Arrays.copyOf(direction, capacity);
+        owner = Arrays.copyOf(owner, capacity);
+        alive = Arrays.copyOf(alive, capacity);
+        id = Arrays.copyOf(id, capacity);
+    }
+
+    /**
+     * Number of occupied slots, including bullets killed since the last compact().
+     */
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return x.length;
+    }
+
+    public double getX(int slot) {
+        return x[slot];
+    }
+
+    public double getY(int slot) {
+        return y[slot];
+    }
+
+    public double getPrevX(int slot) {
+        return prevX[slot];
+    }
+
+    public double getPrevY(int slot) {
+        return prevY[slot];
+    }
+
+    public Direction getDirection(int slot) {
+        return DIRECTIONS[direction[slot]];
+    }
+
+    public byte getOwner(int slot) {
+        return owner[slot];
+    }
+
+    public boolean isAlive(int slot) {
+        return alive[slot];
+    }
+
+    public int getId(int slot) {
+        return id[slot];
+    }
+
+    /**
+     * Places a bullet with a given id and previous position, as a replica of one
+     * simulated elsewhere (GameClient).
+     */
+    void add(int id, byte owner, Direction direction, double x, double y, double prevX, double prevY) {
+        int slot = spawn(owner, direction, x, y);
+        this.prevX[slot] = prevX;
+        this.prevY[slot] = prevY;
+        this.id[slot] = id;
+    }
+}
@@ -0,0 +1,22 @@
+package tankgame;
+
+/**
+ * Axis-aligned bounding box tests on plain doubles.
+ * Every hitbox in the game is an axis-aligned rectangle, so hit tests need no
+ * geometry objects and allocate nothing.
+ */
+public final class Collision {
+
+    private Collision() {
+    }
+
+    /**
+     * Returns true if the two boxes overlap with a non-empty area
+     * (touching edges do not count).
+     */
+    public static boolean overlaps(double ax, double ay, double aw, double ah,
+                                   double bx, double by, double bw, double bh) {
+        return ax < bx + bw && bx < ax + aw
+                && ay < by + bh && by < ay + ah;
+    }
+}
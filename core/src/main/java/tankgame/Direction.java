@@ -0,0 +1,14 @@
+package tankgame;
+
+public enum Direction {
+    RIGHT, LEFT, UP, DOWN;
+
+    private static final Direction[] VALUES = values();
+
+    /**
+     * Looks up a direction by ordinal without the array copy values() makes.
+     */
+    static Direction fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
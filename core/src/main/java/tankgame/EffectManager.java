@@ -0,0 +1,130 @@
+package tankgame;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Short-lived visual effects (explosions) driven by the simulation frame counter.
+ * Effects live in a fixed-capacity ring of primitive arrays. They all share the same
+ * lifetime, so the live effects always form one contiguous window of the ring and
+ * expire from its oldest end. When the ring is full the oldest effect is overwritten,
+ * so cost and memory stay bounded however many tanks die at once.
+ */
+public class EffectManager {
+    public static final int CAPACITY = 256;
+
+    // How long an explosion stays on screen, in ticks (0.5 seconds at 60 ticks per second)
+    public static final int LIFETIME = 30;
+
+    private final double[] x = new double[CAPACITY];
+    private final double[] y = new double[CAPACITY];
+    private final boolean[] large = new boolean[CAPACITY];
+    private final int[] expiresAt = new int[CAPACITY];
+
+    // Incremented every time a slot is reused so the renderer can tell effects apart
+    private final int[] serial = new int[CAPACITY];
+
+    // Oldest live effect and number of live effects
+    private int head = 0;
+    private int count = 0;
+
+    /**
+     * Starts an explosion at the given position.
+     *
+     * @param large true for tank hits, false for the small wall-hit explosion
+     * @param frame the current simulation frame
+     */
+    public void spawn(double x, double y, boolean large, int frame) {
+        if (count == CAPACITY) {
+            // Drop the oldest effect to make room
+            head = (head + 1) % CAPACITY;
+            count--;
+        }
+        int slot = (head + count) % CAPACITY;
+        this.x[slot] = x;
+        this.y[slot] = y;
+        this.large[slot] = large;
+        this.expiresAt[slot] = frame + LIFETIME;
+        this.serial[slot]++;
+        count++;
+    }
+
+    /**
+     * Expires every effect whose lifetime has run out by the given frame.
+     */
+    public void update(int frame) {
+        while (count > 0 && expiresAt[head] <= frame) {
+            head = (head + 1) % CAPACITY;
+            count--;
+        }
+    }
+
+    public void clear() {
+        head = 0;
+        count = 0;
+    }
+
+    /**
+     * Bytes writeState() needs per live effect, after an 8-byte header.
+     */
+    static final int STATE_BYTES = 2 * 8 + 1 + 4;
+
+    /**
+     * Writes the live effects for SaveState, oldest first.
+     */
+    void writeState(ByteBuffer out) {
+        out.putInt(head).putInt(count);
+        for (int i = 0; i < count; i++) {
+            int slot = (head + i) % CAPACITY;
+            out.putDouble(x[slot]).putDouble(y[slot]);
+            out.put((byte) (large[slot] ? 1 : 0)).putInt(expiresAt[slot]);
+        }
+    }
+
+    /**
+     * Replaces every effect with the ones written by writeState(), in the same slots.
+     * The restored slots get new serials so the renderer redraws them.
+     */
+    void readState(ByteBuffer in) {
+        head = in.getInt();
+        count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            int slot = (head + i) % CAPACITY;
+            x[slot] = in.getDouble();
+            y[slot] = in.getDouble();
+            large[slot] = in.get() != 0;
+            expiresAt[slot] = in.getInt();
+            serial[slot]++;
+        }
+    }
+
+    public boolean isActive(int slot) {
+        return (slot - head + CAPACITY) % CAPACITY < count;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public double getX(int slot) {
+        return x[slot];
+    }
+
+    public double getY(int slot) {
+        return y[slot];
+    }
+
+    public boolean isLarge(int slot) {
+        return large[slot];
+    }
+
+    /**
+     * The frame the effect in a slot was spawned in.
+     */
+    public int getSpawnFrame(int slot) {
+        return expiresAt[slot] - LIFETIME;
+    }
+
+    public int getSerial(int slot) {
+        return serial[slot];
+    }
+}
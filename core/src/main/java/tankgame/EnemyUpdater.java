@@ -0,0 +1,89 @@
+package tankgame;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs the per-tick AI of all AI-driven tanks, serially or split across a ForkJoinPool.
+ * The update happens in two phases:
+ * 1. plan: AiSystem picks every tank's direction, moves it against the walls and
+ *    decides whether it fires. Tanks only touch their own row here, so this phase
+ *    is split into row ranges and run in parallel.
+ * 2. apply: the moves go into the collision grid and FiringSystem puts the shots
+ *    into the bullet pool, one tank after the other in row order.
+ * Because each tank has its own seeded generator and the shared state is written in
+ * a fixed order, the parallel mode gives exactly the same results as the serial one.
+ */
+public class EnemyUpdater {
+    // Below this many tanks a range is planned directly instead of being split further
+    static final int SPLIT_THRESHOLD = 512;
+
+    // Pool the plan phase runs on, or null to plan on the calling thread
+    private ForkJoinPool pool;
+
+    /**
+     * Plans and applies one tick for every AI-driven tank of the world.
+     */
+    public void update(GameWorld gameWorld) {
+        Tanks tanks = gameWorld.getTanks();
+        int count = tanks.size();
+        if (pool == null || count <= SPLIT_THRESHOLD) {
+            plan(gameWorld, 0, count);
+        } else {
+            pool.invoke(new PlanTask(gameWorld, 0, count));
+        }
+
+        for (int row = 0; row < count; row++) {
+            if (tanks.type[row].ai) {
+                tanks.syncGrid(row);
+                FiringSystem.fire(gameWorld, row);
+            }
+        }
+    }
+
+    private static void plan(GameWorld gameWorld, int from, int to) {
+        Tanks tanks = gameWorld.getTanks();
+        for (int row = from; row < to; row++) {
+            if (tanks.type[row].ai) {
+                AiSystem.plan(gameWorld, row);
+            }
+        }
+    }
+
+    /**
+     * Sets the pool the plan phase is split across; null switches back to serial updates.
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Plans the rows in [from, to), halving the range until it is small enough.
+     * Tasks are never serialized, RecursiveAction is only Serializable by inheritance.
+     */
+    @SuppressWarnings("serial")
+    private static class PlanTask extends RecursiveAction {
+        private final GameWorld gameWorld;
+        private final int from, to;
+
+        PlanTask(GameWorld gameWorld, int from, int to) {
+            this.gameWorld = gameWorld;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                plan(gameWorld, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PlanTask(gameWorld, from, middle), new PlanTask(gameWorld, middle, to));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package tankgame;
+
+/**
+ * Turns the fire intents set by InputSystem and AiSystem into bullets.
+ * Bullets go into the shared BulletPool, so this runs on one thread, in row order.
+ */
+public final class FiringSystem {
+    // Offset of the muzzle from a tank's top-left corner, along both axes
+    static final int MUZZLE_OFFSET = 11;
+
+    private FiringSystem() {
+    }
+
+    /**
+     * Fires a bullet of the tank's team along its facing if it intends to shoot this tick.
+     */
+    static void fire(GameWorld gameWorld, int row) {
+        Tanks tanks = gameWorld.getTanks();
+        if (!tanks.fireIntent[row]) {
+            return;
+        }
+        tanks.fireIntent[row] = false;
+        tanks.lastShot[row] = gameWorld.frame;
+        gameWorld.getBulletManager().createNewBullet(tanks.type[row].team, tanks.getDirection(row),
+                tanks.x[row] + MUZZLE_OFFSET, tanks.y[row] + MUZZLE_OFFSET);
+    }
+}
@@ -0,0 +1,76 @@
+package tankgame;
+
+/**
+ * Fixed-timestep accumulator that decouples the simulation rate from the render rate.
+ * Each frame reports the current time; the accumulator says how many whole ticks are
+ * due and how far the clock is into the next tick, which the renderer uses to
+ * interpolate between the last two simulation states. Catch-up is capped so a long
+ * stall drops the backlog instead of spiralling.
+ */
+public class FixedTimestep {
+    private final long stepNanos;
+    private final int maxStepsPerFrame;
+
+    private long accumulator = 0;
+    private long lastTime = -1;
+
+    /**
+     * @param ticksPerSecond simulation rate
+     * @param maxStepsPerFrame most ticks run for one frame before the remaining time is dropped
+     */
+    public FixedTimestep(int ticksPerSecond, int maxStepsPerFrame) {
+        this.stepNanos = 1_000_000_000L / ticksPerSecond;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    /**
+     * Adds the time passed since the previous call and returns the number of ticks to run now.
+     *
+     * @param now current time in nanoseconds
+     */
+    public int advance(long now) {
+        if (lastTime < 0) {
+            lastTime = now;
+            return 0;
+        }
+        accumulator += now - lastTime;
+        lastTime = now;
+
+        int steps = 0;
+        while (accumulator >= stepNanos && steps < maxStepsPerFrame) {
+            accumulator -= stepNanos;
+            steps++;
+        }
+        // Too far behind: drop the backlog rather than trying to catch up forever
+        if (accumulator >= stepNanos) {
+            accumulator %= stepNanos;
+        }
+        return steps;
+    }
+
+    /**
+     * How far the clock is into the next tick, from 0 (just ticked) to 1.
+     */
+    public double alpha() {
+        return accumulator / (double) stepNanos;
+    }
+
+    /**
+     * Time left until the next tick is due, as of the last advance() call.
+     */
+    public long nanosUntilNextStep() {
+        return Math.max(0, stepNanos - accumulator);
+    }
+
+    /**
+     * Forgets the elapsed time, e.g. after a pause, so no catch-up ticks are run.
+     */
+    public void reset() {
+        lastTime = -1;
+        accumulator = 0;
+    }
+
+    public long getStepNanos() {
+        return stepNanos;
+    }
+}
@@ -0,0 +1,151 @@
+package tankgame;
+
+import java.util.Arrays;
+
+/**
+ * The way to the player from every tile of the map, shared by all enemy tanks.
+ * One breadth-first search from the player's tile writes, for every tile a tank can
+ * reach, the direction of the next step along a shortest path. An enemy then looks
+ * up its next move in O(1), so chasing costs the same for 10 tanks as for 10,000.
+ * The search is only repeated when the player moves to another tile or the map changes.
+ *
+ * Tiles are tank-sized nodes: a tank's wall probes cover the three columns and three
+ * rows of tiles around the tile under its centre, so a tile is passable when that
+ * 3x3 block has no wall. All positions here are the centre tile of a tank.
+ * Which tiles are passable is worked out once per map change, not per search.
+ */
+public class FlowField {
+    // getDirection() results other than a Direction ordinal
+    public static final int NO_PATH = -1;
+    public static final int AT_TARGET = 4;
+
+    // Not reached by the current search yet
+    private static final byte UNSEEN = -2;
+
+    private GameMap map;
+    private int mapVersion;
+    private int targetRow = -1;
+    private int targetCol = -1;
+
+    // Direction ordinal, AT_TARGET, NO_PATH or UNSEEN per tile, row-major
+    private byte[] directions;
+
+    // Whether a tank fits on each tile, row-major; recomputed when the map changes
+    private boolean[] clear;
+
+    // Search frontier, as row-major tile indices
+    private int[] queue;
+
+    private long searches = 0;
+
+    /**
+     * Points the field at the tank-sized object at the given position (top-left pixel,
+     * like a tank in Tanks), searching again only if that is a new tile or the map changed.
+     */
+    public void update(GameMap map, double x, double y) {
+        int row = GameMap.toTile(y + 16);
+        int col = GameMap.toTile(x + 16);
+        if (map == this.map && map.getVersion() == mapVersion && row == targetRow && col == targetCol) {
+            return;
+        }
+        if (map != this.map) {
+            this.map = map;
+            directions = new byte[map.getRows() * map.getCols()];
+            clear = new boolean[directions.length];
+            queue = new int[directions.length];
+            computeClearance();
+        } else if (map.getVersion() != mapVersion) {
+            computeClearance();
+        }
+        mapVersion = map.getVersion();
+        targetRow = row;
+        targetCol = col;
+        search();
+    }
+
+    private void search() {
+        searches++;
+        Arrays.fill(directions, UNSEEN);
+        int rows = map.getRows();
+        int cols = map.getCols();
+        if (targetRow < 0 || targetCol < 0 || targetRow >= rows || targetCol >= cols) {
+            Arrays.fill(directions, (byte) NO_PATH);
+            return;
+        }
+
+        // The target counts as reached even if the block around it is not clear
+        int head = 0;
+        int tail = 0;
+        int target = targetRow * cols + targetCol;
+        directions[target] = AT_TARGET;
+        queue[tail++] = target;
+
+        while (head < tail) {
+            int tile = queue[head++];
+            int row = tile / cols;
+            int col = tile - row * cols;
+            // Each neighbour steps back toward this tile
+            if (col + 1 < cols) {
+                tail = visit(row, col + 1, Direction.LEFT, tail);
+            }
+            if (col > 0) {
+                tail = visit(row, col - 1, Direction.RIGHT, tail);
+            }
+            if (row + 1 < rows) {
+                tail = visit(row + 1, col, Direction.UP, tail);
+            }
+            if (row > 0) {
+                tail = visit(row - 1, col, Direction.DOWN, tail);
+            }
+        }
+    }
+
+    private int visit(int row, int col, Direction toward, int tail) {
+        int tile = row * map.getCols() + col;
+        if (directions[tile] != UNSEEN) {
+            return tail;
+        }
+        if (!clear[tile]) {
+            directions[tile] = NO_PATH;
+            return tail;
+        }
+        directions[tile] = (byte) toward.ordinal();
+        queue[tail] = tile;
+        return tail + 1;
+    }
+
+    private void computeClearance() {
+        int rows = map.getRows();
+        int cols = map.getCols();
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                boolean free = true;
+                for (int r = row - 1; r <= row + 1 && free; r++) {
+                    for (int c = col - 1; c <= col + 1 && free; c++) {
+                        free = !map.isWall(r, c);
+                    }
+                }
+                clear[row * cols + col] = free;
+            }
+        }
+    }
+
+    /**
+     * The ordinal of the Direction to move from a tile toward the target, AT_TARGET on
+     * the target's own tile, or NO_PATH if the target can't be reached from there.
+     */
+    public int getDirection(int row, int col) {
+        if (directions == null || row < 0 || col < 0 || row >= map.getRows() || col >= map.getCols()) {
+            return NO_PATH;
+        }
+        int direction = directions[row * map.getCols() + col];
+        return direction == UNSEEN ? NO_PATH : direction;
+    }
+
+    /**
+     * How many times the field has been searched, to check it isn't redone every tick.
+     */
+    public long getSearchCount() {
+        return searches;
+    }
+}
@@ -0,0 +1,182 @@
+package tankgame;
+
+/**
+ * Times the phases of a frame (or tick) with System.nanoTime and keeps rolling
+ * p50/p99/max per phase over the last WINDOW samples.
+ * A frame is timed as a chain of laps:
+ * <pre>
+ * long time = profiler.start();
+ * doSomething();
+ * time = profiler.lap(PHASE_SOMETHING, time);
+ * ...
+ * profiler.endFrame();
+ * </pre>
+ * Every phase has a Histogram and a ring of its last samples, allocated when the
+ * profiler is first turned on; a sample leaving the ring is removed from the
+ * histogram again, so recording allocates nothing. The percentiles are worked out
+ * every SUMMARY_INTERVAL frames, not per read.
+ *
+ * The thread that calls start() owns the profiler. Other threads may only turn it on
+ * and off and read the summaries, which is what an overlay needs.
+ */
+public class FrameProfiler {
+    // Returned by start() and lap() while the profiler is off; laps from it record nothing
+    public static final long OFF = Long.MIN_VALUE;
+
+    // Samples the percentiles are taken over (about four seconds at 60 frames per second)
+    static final int WINDOW = 256;
+
+    // Frames between two summaries
+    static final int SUMMARY_INTERVAL = 15;
+
+    // Longest phase told apart from longer ones: 10 seconds
+    static final long HIGHEST_NANOS = 10_000_000_000L;
+
+    private final String[] phases;
+    private Histogram[] histograms;
+
+    // Last WINDOW samples of each phase, and how many were recorded in total
+    private long[][] samples;
+    private final long[] recorded;
+
+    // Latest summary per phase, in nanoseconds
+    private final long[] p50, p99, max;
+
+    private volatile boolean enabled = false;
+    private volatile boolean resetRequested = false;
+    private int frames = 0;
+
+    /**
+     * @param phases names of the phases, indexed by the phase numbers passed to lap()
+     */
+    public FrameProfiler(String... phases) {
+        this.phases = phases.clone();
+        recorded = new long[phases.length];
+        p50 = new long[phases.length];
+        p99 = new long[phases.length];
+        max = new long[phases.length];
+    }
+
+    /**
+     * Starts timing a frame: returns the current time, or OFF if the profiler is off.
+     */
+    public long start() {
+        if (!enabled) {
+            return OFF;
+        }
+        if (resetRequested) {
+            resetRequested = false;
+            reset();
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the time since {@code start} for a phase and returns the current time,
+     * which starts the next phase.
+     */
+    public long lap(int phase, long start) {
+        if (start == OFF) {
+            return OFF;
+        }
+        long now = System.nanoTime();
+        record(phase, now - start);
+        return now;
+    }
+
+    /**
+     * Records one sample of a phase, pushing the oldest one out of the window.
+     */
+    public void record(int phase, long nanos) {
+        if (histograms == null) {
+            reset();
+        }
+        long[] ring = samples[phase];
+        int slot = (int) (recorded[phase] % WINDOW);
+        if (recorded[phase] >= WINDOW) {
+            histograms[phase].remove(ring[slot]);
+        }
+        ring[slot] = nanos;
+        histograms[phase].record(nanos);
+        recorded[phase]++;
+    }
+
+    /**
+     * Ends a timed frame; every SUMMARY_INTERVAL frames the percentiles are refreshed.
+     */
+    public void endFrame() {
+        if (!enabled) {
+            return;
+        }
+        if (++frames % SUMMARY_INTERVAL == 0) {
+            summarize();
+        }
+    }
+
+    /**
+     * Works out p50, p99 and max of every phase over its window.
+     */
+    public void summarize() {
+        if (histograms == null) {
+            return;
+        }
+        for (int phase = 0; phase < phases.length; phase++) {
+            Histogram histogram = histograms[phase];
+            p50[phase] = histogram.getValueAtPercentile(50);
+            p99[phase] = histogram.getValueAtPercentile(99);
+            max[phase] = histogram.getMaxValue();
+        }
+    }
+
+    /**
+     * Turns timing on or off; turning it on starts over with empty windows.
+     */
+    public void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) {
+            resetRequested = true;
+        }
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void reset() {
+        if (histograms == null) {
+            histograms = new Histogram[phases.length];
+            samples = new long[phases.length][WINDOW];
+            for (int phase = 0; phase < phases.length; phase++) {
+                histograms[phase] = new Histogram(HIGHEST_NANOS, 2);
+            }
+        }
+        for (int phase = 0; phase < phases.length; phase++) {
+            histograms[phase].reset();
+            recorded[phase] = 0;
+            p50[phase] = 0;
+            p99[phase] = 0;
+            max[phase] = 0;
+        }
+        frames = 0;
+    }
+
+    public int getPhaseCount() {
+        return phases.length;
+    }
+
+    public String getPhaseName(int phase) {
+        return phases[phase];
+    }
+
+    public long getP50(int phase) {
+        return p50[phase];
+    }
+
+    public long getP99(int phase) {
+        return p99[phase];
+    }
+
+    public long getMax(int phase) {
+        return max[phase];
+    }
+}
@@ -0,0 +1,390 @@
+package tankgame;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Client side of GameServer: keeps a replica GameWorld in step with the server.
+ * Every tick it applies the newest snapshot the server sent, sends the local input
+ * tagged with a sequence number and, while it controls the player, predicts the
+ * player's move right away instead of waiting a round trip. When a snapshot arrives
+ * the player is reset to the server's state and the inputs the server hasn't
+ * simulated yet are replayed on top (reconciliation). Enemies, bullets and effects
+ * are shown as the server reports them; the replica never runs their AI.
+ *
+ * Not thread-safe: connect, tick and read the world from one thread.
+ */
+public class GameClient {
+    // Sent inputs kept for replay; more unacknowledged inputs than this and the client
+    // simply takes the server's position
+    private static final int INPUT_HISTORY = 128;
+
+    // Snapshots larger than this are treated as a broken stream
+    private static final int MAX_SERVER_MESSAGE = 64 * 1024 * 1024;
+
+    private static final long METRICS_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final SocketChannel channel;
+    private final GameMap map;
+
+    // Received bytes not yet decoded, between position and limit after flip()
+    private ByteBuffer in = ByteBuffer.allocateDirect(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+
+    // Bytes not yet sent, between position and limit
+    private final ByteBuffer out = ByteBuffer.allocateDirect(256).order(ByteOrder.LITTLE_ENDIAN);
+
+    // Decoded frames by tick, kept as baselines for the server's deltas
+    private final NetFrame[] history = new NetFrame[GameServer.HISTORY];
+
+    // The frame the world shows, and the server fields that came with the newest frame
+    private NetFrame applied;
+    private NetFrame newest;
+    private int newestProcessedSequence;
+    private boolean newestControlling;
+
+    private GameWorld gameWorld;
+    private int serverGeneration = NetFrame.NONE;
+    private long generation = 0;
+    private boolean controlling = false;
+
+    private final int[] sentInputs = new int[INPUT_HISTORY];
+    private int inputSequence = -1;
+    private boolean restartRequested = false;
+
+    // Metrics
+    private long bytesReceived;
+    private long intervalBytes;
+    private long intervalStart = System.nanoTime();
+    private double bytesPerSecond;
+    private double lastCorrection;
+    private double maxCorrection;
+
+    private GameClient(SocketChannel channel, GameMap map) {
+        this.channel = channel;
+        this.map = map;
+        for (int i = 0; i < history.length; i++) {
+            history[i] = new NetFrame();
+        }
+        this.gameWorld = new GameWorld(0, map);
+        out.flip();
+    }
+
+    /**
+     * Connects to a server and waits for its greeting.
+     *
+     * @param map the level the server is running; its size must match the server's
+     * @throws IOException if the server can't be reached, speaks another protocol
+     *                     version or runs a map of another size
+     */
+    public static GameClient connect(String host, int port, GameMap map) throws IOException {
+        SocketChannel channel = SocketChannel.open(new InetSocketAddress(host, port));
+        try {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            ByteBuffer welcome = ByteBuffer.allocate(GameServer.HEADER_BYTES + 16).order(ByteOrder.LITTLE_ENDIAN);
+            while (welcome.hasRemaining()) {
+                if (channel.read(welcome) < 0) {
+                    throw new EOFException("Server closed the connection");
+                }
+            }
+            welcome.flip();
+            welcome.getInt();
+            if (welcome.get() != GameServer.WELCOME) {
+                throw new IOException("Not a tank game server");
+            }
+            int version = welcome.getInt();
+            if (version != GameServer.PROTOCOL_VERSION) {
+                throw new IOException("Server speaks protocol version " + version
+                        + ", this client " + GameServer.PROTOCOL_VERSION);
+            }
+            int ticksPerSecond = welcome.getInt();
+            int rows = welcome.getInt();
+            int cols = welcome.getInt();
+            if (ticksPerSecond != GameWorld.TICKS_PER_SECOND) {
+                throw new IOException("Server runs at " + ticksPerSecond + " ticks per second");
+            }
+            if (rows != map.getRows() || cols != map.getCols()) {
+                throw new IOException("Server runs a " + rows + "x" + cols + " level, this client has "
+                        + map.getRows() + "x" + map.getCols());
+            }
+            channel.configureBlocking(false);
+            return new GameClient(channel, map);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs one client tick: applies what the server sent, sends the input and predicts
+     * the player's move. Call at the server's tick rate.
+     *
+     * @throws IOException if the connection broke or the server sent garbage
+     */
+    public void tick(int input) throws IOException {
+        receive();
+        if (newest != null && newest != applied) {
+            apply(newest, newestProcessedSequence, newestControlling);
+        }
+
+        if (!flush()) {
+            // The socket is backed up; this tick's input is lost
+            return;
+        }
+        out.clear();
+        if (restartRequested) {
+            restartRequested = false;
+            out.putInt(0).put(GameServer.RESTART);
+        }
+        int sequence = inputSequence + 1;
+        out.putInt(13).put(GameServer.INPUT).putInt(sequence).put((byte) input);
+        out.putInt(applied == null ? NetFrame.NONE : applied.tick);
+        out.putInt(applied == null ? NetFrame.NONE : applied.generation);
+        out.flip();
+        inputSequence = sequence;
+        sentInputs[sequence % INPUT_HISTORY] = input;
+        flush();
+
+        if (controlling && applied != null && gameWorld.getTanks().getLife(Tanks.PLAYER) > 0) {
+            predict(input);
+        }
+    }
+
+    /**
+     * Asks the server for a new world; only honoured while this client controls the player.
+     */
+    public void requestRestart() {
+        restartRequested = true;
+    }
+
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean flush() throws IOException {
+        if (out.hasRemaining()) {
+            channel.write(out);
+        }
+        return !out.hasRemaining();
+    }
+
+    private void receive() throws IOException {
+        while (true) {
+            int read = channel.read(in);
+            if (read < 0) {
+                throw new EOFException("Server closed the connection");
+            }
+            bytesReceived += read;
+            intervalBytes += read;
+            decodeMessages();
+            if (read == 0) {
+                break;
+            }
+        }
+
+        long now = System.nanoTime();
+        if (now - intervalStart >= METRICS_INTERVAL_NANOS) {
+            bytesPerSecond = intervalBytes / ((now - intervalStart) / 1e9);
+            intervalBytes = 0;
+            intervalStart = now;
+        }
+    }
+
+    private void decodeMessages() throws IOException {
+        in.flip();
+        try {
+            while (in.remaining() >= GameServer.HEADER_BYTES) {
+                int length = in.getInt(in.position());
+                if (length < 0 || length > MAX_SERVER_MESSAGE) {
+                    throw new IOException("Broken message length " + length);
+                }
+                if (in.remaining() < GameServer.HEADER_BYTES + length) {
+                    break;
+                }
+                in.getInt();
+                byte type = in.get();
+                int end = in.position() + length;
+                if (type == GameServer.SNAPSHOT) {
+                    int limit = in.limit();
+                    in.limit(end);
+                    decodeSnapshot();
+                    if (in.hasRemaining()) {
+                        throw new IOException("Snapshot longer than its contents");
+                    }
+                    in.limit(limit);
+                }
+                in.position(end);
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Malformed snapshot", e);
+        }
+
+        int pending = in.remaining();
+        if (pending >= GameServer.HEADER_BYTES && in.position() == 0 && in.limit() == in.capacity()) {
+            // One message fills the whole buffer: make room for the rest of it
+            int needed = GameServer.HEADER_BYTES + in.getInt(in.position());
+            ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(needed, in.capacity() * 2))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            larger.put(in);
+            in = larger;
+        } else {
+            in.compact();
+        }
+    }
+
+    private void decodeSnapshot() {
+        int processedSequence = in.getInt();
+        boolean controls = (in.get() & GameServer.CONTROLLING) != 0;
+
+        int tick = in.getInt(in.position());
+        int baseTick = NetFrame.peekBaseTick(in);
+        int frameGeneration = in.getInt(in.position() + 8);
+        NetFrame base = null;
+        if (baseTick != NetFrame.NONE) {
+            base = history[Math.floorMod(baseTick, GameServer.HISTORY)];
+            if (base.tick != baseTick || base.generation != frameGeneration) {
+                throw new IllegalArgumentException("Snapshot against unknown baseline " + baseTick);
+            }
+        }
+        NetFrame frame = history[Math.floorMod(tick, GameServer.HISTORY)];
+        frame.decode(in, base);
+
+        if (newest == null || frame.generation != newest.generation || frame.tick > newest.tick) {
+            newest = frame;
+            newestProcessedSequence = processedSequence;
+            newestControlling = controls;
+        }
+    }
+
+    /**
+     * Makes the replica world show a frame, then reconciles the player.
+     */
+    private void apply(NetFrame frame, int processedSequence, boolean controls) {
+        int previousTick = applied == null ? NetFrame.NONE : applied.tick;
+        if (frame.generation != serverGeneration) {
+            // The server started a new world
+            gameWorld = new GameWorld(0, map);
+            serverGeneration = frame.generation;
+            generation++;
+            previousTick = NetFrame.NONE;
+        }
+        controlling = controls;
+        gameWorld.frame = frame.tick;
+        gameWorld.setScore(frame.score);
+
+        Tanks tanks = gameWorld.getTanks();
+        NetEntities netTanks = frame.tanks;
+        tanks.truncate(Tanks.PLAYER + 1 + netTanks.count);
+        while (gameWorld.getEnemyCount() < netTanks.count) {
+            gameWorld.spawnEnemy();
+        }
+        for (int i = 0; i < netTanks.count; i++) {
+            tanks.setNetState(Tanks.PLAYER + 1 + i, netTanks.id[i],
+                    NetEntities.pixels(netTanks.x[i]), NetEntities.pixels(netTanks.y[i]),
+                    NetEntities.pixels(netTanks.x[i] - netTanks.vx[i]),
+                    NetEntities.pixels(netTanks.y[i] - netTanks.vy[i]),
+                    Direction.fromOrdinal(netTanks.direction[i]));
+        }
+
+        BulletPool pool = gameWorld.getBulletManager().getBullets();
+        NetEntities netBullets = frame.bullets;
+        pool.clear();
+        for (int i = 0; i < netBullets.count; i++) {
+            pool.add(netBullets.id[i], netBullets.extra[i], Direction.fromOrdinal(netBullets.direction[i]),
+                    NetEntities.pixels(netBullets.x[i]), NetEntities.pixels(netBullets.y[i]),
+                    NetEntities.pixels(netBullets.x[i] - netBullets.vx[i]),
+                    NetEntities.pixels(netBullets.y[i] - netBullets.vy[i]));
+        }
+
+        // The previous frame already had every effect spawned before its tick
+        EffectManager effects = gameWorld.getEffects();
+        for (int i = 0; i < frame.effectCount; i++) {
+            if (frame.effectFrame[i] >= previousTick) {
+                effects.spawn(NetEntities.pixels(frame.effectX[i]), NetEntities.pixels(frame.effectY[i]),
+                        frame.effectLarge[i], frame.effectFrame[i]);
+            }
+        }
+        effects.update(frame.tick);
+
+        reconcile(frame, processedSequence);
+        applied = frame;
+    }
+
+    /**
+     * Takes the server's player and replays the inputs it hasn't simulated yet.
+     */
+    private void reconcile(NetFrame frame, int processedSequence) {
+        Tanks tanks = gameWorld.getTanks();
+        int player = Tanks.PLAYER;
+        double predictedX = tanks.getX(player);
+        double predictedY = tanks.getY(player);
+        boolean predicted = applied != null && applied.generation == frame.generation && controlling;
+
+        frame.readPlayer(tanks);
+        int unprocessed = inputSequence - processedSequence;
+        if (!controlling || unprocessed <= 0 || unprocessed > INPUT_HISTORY) {
+            lastCorrection = 0;
+            return;
+        }
+        for (int sequence = processedSequence + 1; sequence <= inputSequence; sequence++) {
+            if (tanks.getLife(player) > 0) {
+                predict(sentInputs[sequence % INPUT_HISTORY]);
+            }
+        }
+        lastCorrection = predicted ? Math.hypot(tanks.getX(player) - predictedX, tanks.getY(player) - predictedY) : 0;
+        maxCorrection = Math.max(maxCorrection, lastCorrection);
+    }
+
+    private void predict(int input) {
+        // Only the server fires: a locally predicted bullet would be replaced next snapshot
+        InputSystem.update(gameWorld, input & ~PlayerInput.FIRE);
+    }
+
+    /**
+     * The replica world; a new object after the server restarts.
+     */
+    public GameWorld getWorld() {
+        return gameWorld;
+    }
+
+    /**
+     * Counts the server worlds seen, like SimulationThread's generation.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Whether this client's input moves the player (the first client to connect does).
+     */
+    public boolean isControlling() {
+        return controlling;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * Bytes received per second over the last second.
+     */
+    public double getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    /**
+     * How far (in pixels) the last reconciliation moved the predicted player.
+     */
+    public double getLastCorrection() {
+        return lastCorrection;
+    }
+
+    public double getMaxCorrection() {
+        return maxCorrection;
+    }
+}
@@ -0,0 +1,148 @@
+package tankgame;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events for what happens in the game, so a recording lines up
+ * GC pauses, allocation and slow frames with the ticks, hits and explosions around them.
+ * They show up under "Tank Game" in JDK Mission Control.
+ *
+ * Emit them like this, so nothing but a disabled-check is left when no recording runs
+ * (the event object is then optimized away):
+ * <pre>
+ * GameEvents.Spawn event = new GameEvents.Spawn();
+ * if (event.isEnabled()) {
+ *     event.tankId = id;
+ *     event.commit();
+ * }
+ * </pre>
+ * None of them record stack traces; they fire too often for that to be cheap.
+ * The jdk.jfr API is not in Java 8, so core is built for Java 11.
+ */
+public final class GameEvents {
+    static final String CATEGORY = "Tank Game";
+
+    // Values of Collision.target
+    static final String WALL = "wall";
+    static final String PLAYER = "player";
+    static final String ENEMY = "enemy";
+
+    private GameEvents() {
+    }
+
+    @Name("tankgame.Tick")
+    @Label("Tick")
+    @Category(CATEGORY)
+    @Description("One simulation tick of GameWorld, with the entity counts at its end")
+    @StackTrace(false)
+    public static class Tick extends Event {
+        @Label("Frame")
+        public int frame;
+
+        @Label("Enemies")
+        public int enemies;
+
+        @Label("Bullets")
+        public int bullets;
+
+        @Label("Effects")
+        public int effects;
+    }
+
+    @Name("tankgame.Collision")
+    @Label("Collision")
+    @Category(CATEGORY)
+    @Description("A bullet hit a wall or a tank")
+    @StackTrace(false)
+    public static class Collision extends Event {
+        @Label("Frame")
+        public int frame;
+
+        @Label("Bullet Team")
+        @Description("Who fired the bullet: player or enemy")
+        public String bulletTeam;
+
+        @Label("Target")
+        @Description("What the bullet hit: wall, player or enemy")
+        public String target;
+
+        @Label("Tank Id")
+        @Description("Id of the tank that was hit, -1 for walls")
+        public int tankId;
+
+        @Label("X")
+        public double x;
+
+        @Label("Y")
+        public double y;
+    }
+
+    @Name("tankgame.Spawn")
+    @Label("Enemy Spawn")
+    @Category(CATEGORY)
+    @Description("An enemy tank entered the world")
+    @StackTrace(false)
+    public static class Spawn extends Event {
+        @Label("Frame")
+        public int frame;
+
+        @Label("Tank Id")
+        public int tankId;
+
+        @Label("X")
+        public double x;
+
+        @Label("Y")
+        public double y;
+
+        @Label("Enemies")
+        @Description("Enemies in the world, including this one")
+        public int enemies;
+    }
+
+    @Name("tankgame.Explosion")
+    @Label("Explosion")
+    @Category(CATEGORY)
+    @Description("An explosion effect started")
+    @StackTrace(false)
+    public static class Explosion extends Event {
+        @Label("Frame")
+        public int frame;
+
+        @Label("Large")
+        @Description("True for tank hits, false for wall hits")
+        public boolean large;
+
+        @Label("X")
+        public double x;
+
+        @Label("Y")
+        public double y;
+    }
+
+    @Name("tankgame.Restart")
+    @Label("Restart")
+    @Category(CATEGORY)
+    @Description("The player restarted the game")
+    @StackTrace(false)
+    public static class Restart extends Event {
+        @Label("Frame")
+        @Description("Last frame of the game that ended")
+        public int frame;
+
+        @Label("Score")
+        public int score;
+
+        @Label("Lives Left")
+        public int life;
+
+        @Label("Game Over")
+        @Description("Restarted from the game over screen rather than the pause menu")
+        public boolean gameOver;
+    }
+}
@@ -0,0 +1,279 @@
+package tankgame;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * Represents the tile-based game map including walls and empty spaces.
+ * Handles generation of the map; drawing it is done by the GameRenderer.
+ * Tiles are packed row-major into two bitsets of one bit per tile: the solid plane
+ * (bit 0 of the tile type) and the variant plane (bit 1). A 10k x 10k tile world
+ * takes 25 MB instead of 400 MB as int[][], and isWall() reads a single bit.
+ * The planes are little-endian LongBuffers, either off-heap or mapped straight
+ * from a level file (see LevelFile).
+ */
+public class GameMap {
+    public static final int TILE_SIZE = 16;
+
+    // Default map size, in tiles
+    static final int DEFAULT_ROWS = 45;
+    static final int DEFAULT_COLS = 67;
+
+    // Where the player starts on the default map, in pixels
+    static final int DEFAULT_PLAYER_X = 540;
+    static final int DEFAULT_PLAYER_Y = 600;
+
+    // Tile types; bit 0 says whether the tile blocks movement and bullets,
+    // bit 1 picks a variant, leaving room for one more walkable and one more solid type
+    public static final int TILE_EMPTY = 0;
+    public static final int TILE_WALL = 1;
+    static final int TILE_TYPES = 4;
+
+    // log2 of the tiles per long
+    private static final int WORD_SHIFT = 6;
+
+    private final int rows;
+    private final int cols;
+
+    // Bit planes, tile (row * cols + col) at bit (index & 63) of word (index >>> 6)
+    private final LongBuffer solid;
+    private final LongBuffer variant;
+
+    // Player start and enemy spawn points, in pixels; enemies spawn at random
+    // near the top of the map when the list is empty
+    private int playerSpawnX = DEFAULT_PLAYER_X;
+    private int playerSpawnY = DEFAULT_PLAYER_Y;
+    private int[] enemySpawns = new int[0];
+    private int enemySpawnCount = 0;
+
+    // Incremented on every tile change so cached views of the map know to refresh
+    private int version = 0;
+
+    // Nearest walls along rows and columns, built on first use and then kept up to date
+    private volatile WallIndex wallIndex;
+
+
+    /**
+     * Initializes the game map with predefined borders and internal walls.
+     */
+    public GameMap() {
+        this(DEFAULT_ROWS, DEFAULT_COLS);
+
+        // Two horizontal walls across the middle of the map
+        for (int col = 10; col < 57; col++) {
+            setWall(15, col, true);
+            setWall(30, col, true);
+        }
+    }
+
+    /**
+     * Creates an empty map of the given size surrounded by a border wall.
+     *
+     * @throws IllegalArgumentException if a dimension is not positive or the map has
+     *                                  more tiles than an int can index
+     */
+    public GameMap(int rows, int cols) {
+        this(rows, cols, allocatePlane(rows, cols), allocatePlane(rows, cols));
+        generateBorders();
+    }
+
+    /**
+     * Wraps existing bit planes, e.g. ones mapped from a level file, without copying them.
+     *
+     * @throws IllegalArgumentException if the size is invalid or a plane is too small for it
+     */
+    GameMap(int rows, int cols, LongBuffer solid, LongBuffer variant) {
+        int words = wordsFor(rows, cols);
+        if (solid.capacity() < words || variant.capacity() < words) {
+            throw new IllegalArgumentException("Tile planes too small for " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.solid = solid;
+        this.variant = variant;
+    }
+
+    /**
+     * Creates a map of the given size without any walls, not even a border.
+     */
+    static GameMap empty(int rows, int cols) {
+        return new GameMap(rows, cols, allocatePlane(rows, cols), allocatePlane(rows, cols));
+    }
+
+    /**
+     * Number of longs in one bit plane of a map of the given size.
+     */
+    static int wordsFor(int rows, int cols) {
+        if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid map size " + rows + "x" + cols);
+        }
+        return (int) (((long) rows * cols + 63) >>> WORD_SHIFT);
+    }
+
+    private static LongBuffer allocatePlane(int rows, int cols) {
+        return ByteBuffer.allocateDirect(wordsFor(rows, cols) * Long.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asLongBuffer();
+    }
+
+    /**
+     * Puts walls on the outermost rows and columns; everything else starts empty.
+     */
+    private void generateBorders() {
+        for (int col = 0; col < cols; col++) {
+            setWall(0, col, true);
+            setWall(rows - 1, col, true);
+        }
+        for (int row = 0; row < rows; row++) {
+            setWall(row, 0, true);
+            setWall(row, cols - 1, true);
+        }
+    }
+
+    /**
+     * Tile index for a pixel coordinate, rounding toward zero like the original probes.
+     */
+    public static int toTile(double pixel) {
+        return (int) pixel / TILE_SIZE;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Returns true if the tile blocks movement. Tiles outside the map count as walls.
+     * There are no branches: an out-of-bounds coordinate reads tile 0 and is then
+     * forced solid by its sign bits. Long shifts only use the low 6 bits of the
+     * distance, so shifting by the tile index selects its bit within the word.
+     */
+    public boolean isWall(int row, int col) {
+        // 1 if row or col is negative or past the last tile, 0 otherwise
+        int outside = (row | col | (rows - 1 - row) | (cols - 1 - col)) >>> 31;
+        int cell = (row * cols + col) & (outside - 1);
+        return (((int) (solid.get(cell >>> WORD_SHIFT) >>> cell) | outside) & 1) != 0;
+    }
+
+    /**
+     * Returns the type of a tile (TILE_EMPTY, TILE_WALL, ...); tiles outside the map are walls.
+     */
+    public int getTile(int row, int col) {
+        if (row < 0 || col < 0 || row >= rows || col >= cols) {
+            return TILE_WALL;
+        }
+        int cell = row * cols + col;
+        int word = cell >>> WORD_SHIFT;
+        return (int) (solid.get(word) >>> cell) & 1 | ((int) (variant.get(word) >>> cell) & 1) << 1;
+    }
+
+    /**
+     * Changes the type of a tile.
+     *
+     * @throws IndexOutOfBoundsException if the tile is outside the map
+     * @throws IllegalArgumentException if the type is not one of the TILE_TYPES types
+     */
+    public void setTile(int row, int col, int type) {
+        if (row < 0 || col < 0 || row >= rows || col >= cols) {
+            throw new IndexOutOfBoundsException("Tile " + row + "," + col + " is outside the map");
+        }
+        if (type < 0 || type >= TILE_TYPES) {
+            throw new IllegalArgumentException("Invalid tile type " + type);
+        }
+        int previous = getTile(row, col);
+        if (previous == type) {
+            return;
+        }
+        int cell = row * cols + col;
+        int word = cell >>> WORD_SHIFT;
+        long bit = 1L << cell;
+        solid.put(word, (type & 1) != 0 ? solid.get(word) | bit : solid.get(word) & ~bit);
+        variant.put(word, (type & 2) != 0 ? variant.get(word) | bit : variant.get(word) & ~bit);
+        version++;
+
+        WallIndex index = wallIndex;
+        if (index != null && ((previous ^ type) & 1) != 0) {
+            index.tileChanged(row, col, (type & 1) != 0);
+        }
+    }
+
+    /**
+     * Turns a tile into a wall or clears it.
+     */
+    public void setWall(int row, int col, boolean wall) {
+        setTile(row, col, wall ? TILE_WALL : TILE_EMPTY);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * The nearest wall from every tile along its row and column. Built the first time it
+     * is asked for (in O(rows * cols)), then updated by setTile() as walls change.
+     * Safe to call from several threads, but not while the map is being changed.
+     */
+    public WallIndex getWallIndex() {
+        WallIndex index = wallIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = wallIndex;
+                if (index == null) {
+                    index = new WallIndex(this);
+                    wallIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    LongBuffer getSolidPlane() {
+        return solid;
+    }
+
+    LongBuffer getVariantPlane() {
+        return variant;
+    }
+
+    public int getPlayerSpawnX() {
+        return playerSpawnX;
+    }
+
+    public int getPlayerSpawnY() {
+        return playerSpawnY;
+    }
+
+    public void setPlayerSpawn(int x, int y) {
+        this.playerSpawnX = x;
+        this.playerSpawnY = y;
+    }
+
+    /**
+     * Adds a point enemy tanks can appear at, in pixels.
+     */
+    public void addEnemySpawn(int x, int y) {
+        if (enemySpawnCount * 2 == enemySpawns.length) {
+            enemySpawns = Arrays.copyOf(enemySpawns, Math.max(8, enemySpawns.length * 2));
+        }
+        enemySpawns[enemySpawnCount * 2] = x;
+        enemySpawns[enemySpawnCount * 2 + 1] = y;
+        enemySpawnCount++;
+    }
+
+    public int getEnemySpawnCount() {
+        return enemySpawnCount;
+    }
+
+    public int getEnemySpawnX(int index) {
+        return enemySpawns[index * 2];
+    }
+
+    public int getEnemySpawnY(int index) {
+        return enemySpawns[index * 2 + 1];
+    }
+}
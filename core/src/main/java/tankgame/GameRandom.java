@@ -0,0 +1,79 @@
+package tankgame;
+
+/**
+ * Random number generator of the simulation.
+ * Produces exactly the same numbers as java.util.Random for the same seed (it is
+ * the same 48-bit linear congruential generator), but its state can be read and
+ * restored, which save states need. It is not thread-safe; every generator
+ * belongs to one world or one tank.
+ */
+public class GameRandom {
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private long state;
+
+    public GameRandom(long seed) {
+        setSeed(seed);
+    }
+
+    /**
+     * Starts over as if newly created with the given seed.
+     */
+    public void setSeed(long seed) {
+        this.state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    private int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    public int nextInt() {
+        return next(32);
+    }
+
+    /**
+     * Returns a value in [0, bound), like java.util.Random.nextInt(int).
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        int r = next(31);
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            // Power of two: take the high bits
+            return (int) ((bound * (long) r) >> 31);
+        }
+        // Reject the values that would make the result uneven
+        for (int u = r; u - (r = u % bound) + m < 0; u = next(31)) {
+        }
+        return r;
+    }
+
+    public long nextLong() {
+        return ((long) next(32) << 32) + next(32);
+    }
+
+    public boolean nextBoolean() {
+        return next(1) != 0;
+    }
+
+    public double nextDouble() {
+        return (((long) next(26) << 27) + next(27)) * DOUBLE_UNIT;
+    }
+
+    /**
+     * The internal 48-bit state; setState() with this value continues the same sequence.
+     */
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
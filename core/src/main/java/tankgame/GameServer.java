@@ -0,0 +1,487 @@
+package tankgame;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+/**
+ * Authoritative game server: simulates the GameWorld at the fixed tick rate on one
+ * thread with a non-blocking Selector, takes tick-tagged inputs from its clients and
+ * sends every client the state of each tick as a NetFrame delta against the last
+ * frame that client acknowledged. Unchanged tanks and bullets cost nothing; a client
+ * without a usable baseline (new, restarted or too far behind) gets a full frame.
+ *
+ * The world has one player tank, so the first client to connect controls it and
+ * later clients watch; when the controlling client leaves, the next one takes over.
+ * The world only runs while at least one client is connected.
+ *
+ * Messages both ways are: payload length (4 bytes), type (1 byte), payload, little-endian.
+ * <pre>
+ * WELCOME  server to client: protocol version, ticks per second, map rows, map cols
+ * INPUT    client to server: input sequence number, PlayerInput flags (1 byte),
+ *                            acknowledged tick and generation (NetFrame.NONE if none)
+ * SNAPSHOT server to client: last input sequence number simulated (-1 if none),
+ *                            flags (1 byte, bit 0 = this client controls the player),
+ *                            NetFrame
+ * RESTART  client to server: no payload; replaces the world if sent by the controller
+ * </pre>
+ *
+ * Usage: java -cp core/target/classes tankgame.GameServer [port] [level.lvl]
+ */
+public class GameServer {
+    public static final int DEFAULT_PORT = 7777;
+
+    static final int PROTOCOL_VERSION = 1;
+    static final byte WELCOME = 1;
+    static final byte INPUT = 2;
+    static final byte SNAPSHOT = 3;
+    static final byte RESTART = 4;
+    static final int HEADER_BYTES = 5;
+    static final byte CONTROLLING = 1;
+
+    // Frames kept as baselines; a client further behind than this gets a full frame
+    static final int HISTORY = 64;
+
+    // Inputs queued beyond this are dropped oldest first, so a client that runs fast
+    // can't build up latency
+    private static final int MAX_QUEUED_INPUTS = 4;
+    private static final int MAX_CLIENT_MESSAGE = 64;
+
+    // How often the metrics are computed (and printed, if enabled)
+    private static final long METRICS_INTERVAL_NANOS = 5_000_000_000L;
+
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final FixedTimestep timestep = new FixedTimestep(GameWorld.TICKS_PER_SECOND, 5);
+
+    // Creates the world at start and on every restart
+    private final Supplier<GameWorld> worlds;
+    private GameWorld gameWorld;
+    private int generation = 0;
+    private boolean restartRequested = false;
+
+    private final NetFrame[] history = new NetFrame[HISTORY];
+
+    // Connected clients in order of arrival; the first one controls the player
+    private final ArrayList<Connection> connections = new ArrayList<>();
+
+    private volatile boolean running = false;
+    private boolean logMetrics = false;
+
+    // Accumulated over the current metrics interval
+    private long intervalStart;
+    private long intervalTicks;
+    private long intervalTickNanos;
+    private long intervalSimulationNanos;
+    private long intervalMaxTickNanos;
+
+    // Results of the last metrics interval, readable from any thread
+    private volatile double averageTickNanos;
+    private volatile double averageSimulationNanos;
+    private volatile long maxTickNanos;
+    private volatile double[] clientBytesPerSecond = new double[0];
+
+    /**
+     * Listens on the given port (0 picks a free one) for clients of the worlds made by
+     * the factory; run() serves them.
+     */
+    public GameServer(int port, Supplier<GameWorld> worlds) throws IOException {
+        this.worlds = worlds;
+        for (int i = 0; i < HISTORY; i++) {
+            history[i] = new NetFrame();
+        }
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 2) {
+            System.err.println("Usage: GameServer [port] [level.lvl]");
+            System.exit(2);
+        }
+        int port = args.length >= 1 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        GameMap map = args.length == 2 ? LevelFile.load(Paths.get(args[1])) : new GameMap();
+
+        GameServer server = new GameServer(port, () -> new GameWorld(System.nanoTime(), map));
+        server.setLogMetrics(true);
+        System.out.println("Serving on port " + server.getPort());
+        server.run();
+    }
+
+    /**
+     * Serves clients and simulates until stop() is called; call on the server thread.
+     */
+    public void run() throws IOException {
+        running = true;
+        gameWorld = worlds.get();
+        intervalStart = System.nanoTime();
+        try {
+            while (running) {
+                long waitMillis = Math.max(1, (timestep.nanosUntilNextStep() + 999_999) / 1_000_000);
+                selector.select(waitMillis);
+                handleKeys();
+
+                long now = System.nanoTime();
+                if (connections.isEmpty()) {
+                    // Nobody is playing: hold the world still
+                    timestep.reset();
+                } else {
+                    int steps = timestep.advance(now);
+                    if (steps > 0) {
+                        tick(steps);
+                    }
+                }
+                if (now - intervalStart >= METRICS_INTERVAL_NANOS) {
+                    finishMetricsInterval(now);
+                }
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.channel.close();
+            }
+            connections.clear();
+            serverChannel.close();
+            selector.close();
+        }
+    }
+
+    /**
+     * Makes run() return; callable from any thread.
+     */
+    public void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    private void tick(int steps) {
+        long start = System.nanoTime();
+        if (restartRequested) {
+            restartRequested = false;
+            gameWorld = worlds.get();
+            generation++;
+        }
+
+        Connection controller = connections.get(0);
+        for (int step = 0; step < steps; step++) {
+            gameWorld.tick(controller.nextInput());
+        }
+        long simulated = System.nanoTime();
+
+        NetFrame frame = history[gameWorld.frame % HISTORY];
+        frame.capture(gameWorld, generation);
+        for (int i = 0; i < connections.size(); i++) {
+            sendSnapshot(connections.get(i), frame, i == 0);
+        }
+        removeClosedConnections();
+
+        long end = System.nanoTime();
+        intervalTicks += steps;
+        intervalTickNanos += end - start;
+        intervalSimulationNanos += simulated - start;
+        intervalMaxTickNanos = Math.max(intervalMaxTickNanos, end - start);
+    }
+
+    private void handleKeys() {
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            if (!key.isValid()) {
+                continue;
+            }
+            if (key.isAcceptable()) {
+                accept();
+                continue;
+            }
+            Connection connection = (Connection) key.attachment();
+            if (key.isReadable()) {
+                read(connection);
+            }
+            if (key.isValid() && key.isWritable()) {
+                flush(connection);
+            }
+        }
+        removeClosedConnections();
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel = serverChannel.accept();
+            if (channel == null) {
+                return;
+            }
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Connection connection = new Connection(channel);
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+            connections.add(connection);
+
+            ByteBuffer out = connection.out;
+            out.clear();
+            out.putInt(16).put(WELCOME);
+            out.putInt(PROTOCOL_VERSION).putInt(GameWorld.TICKS_PER_SECOND);
+            out.putInt(gameWorld.getGameMap().getRows()).putInt(gameWorld.getGameMap().getCols());
+            out.flip();
+            flush(connection);
+        } catch (IOException e) {
+            System.err.println("Could not accept a client: " + e);
+        }
+    }
+
+    private void read(Connection connection) {
+        ByteBuffer in = connection.in;
+        try {
+            if (connection.channel.read(in) < 0) {
+                connection.close();
+                return;
+            }
+        } catch (IOException e) {
+            connection.close();
+            return;
+        }
+
+        in.flip();
+        while (in.remaining() >= HEADER_BYTES) {
+            int length = in.getInt(in.position());
+            if (length < 0 || length > MAX_CLIENT_MESSAGE) {
+                connection.close();
+                return;
+            }
+            if (in.remaining() < HEADER_BYTES + length) {
+                break;
+            }
+            in.getInt();
+            byte type = in.get();
+            int end = in.position() + length;
+            if (type == INPUT && length >= 13) {
+                receiveInput(connection, in.getInt(), in.get() & 0xFF, in.getInt(), in.getInt());
+            } else if (type == RESTART && connection == connections.get(0)) {
+                restartRequested = true;
+            }
+            in.position(end);
+        }
+        in.compact();
+    }
+
+    private void receiveInput(Connection connection, int sequence, int input, int ackTick, int ackGeneration) {
+        if (ackGeneration != connection.ackGeneration || ackTick > connection.ackTick) {
+            connection.ackTick = ackTick;
+            connection.ackGeneration = ackGeneration;
+        }
+        if (connection != connections.get(0)) {
+            // Watchers' inputs are acknowledged but never simulated
+            connection.lastProcessedSequence = sequence;
+            return;
+        }
+        if (connection.queued == MAX_QUEUED_INPUTS) {
+            connection.queueHead = (connection.queueHead + 1) % MAX_QUEUED_INPUTS;
+            connection.queued--;
+        }
+        int slot = (connection.queueHead + connection.queued) % MAX_QUEUED_INPUTS;
+        connection.queuedSequences[slot] = sequence;
+        connection.queuedInputs[slot] = input;
+        connection.queued++;
+    }
+
+    private void sendSnapshot(Connection connection, NetFrame frame, boolean controlling) {
+        if (connection.closed) {
+            return;
+        }
+        if (connection.out.hasRemaining()) {
+            // The client hasn't taken the previous snapshot yet; a later one will catch it up
+            connection.snapshotsSkipped++;
+            return;
+        }
+
+        NetFrame base = null;
+        if (connection.ackGeneration == generation && connection.ackTick != NetFrame.NONE
+                && frame.tick - connection.ackTick < HISTORY && frame.tick > connection.ackTick) {
+            NetFrame candidate = history[connection.ackTick % HISTORY];
+            if (candidate.tick == connection.ackTick && candidate.generation == generation) {
+                base = candidate;
+            }
+        }
+
+        int capacity = HEADER_BYTES + 5 + frame.maxEncodedBytes(base);
+        if (connection.out.capacity() < capacity) {
+            connection.out = ByteBuffer.allocateDirect(Math.max(capacity, connection.out.capacity() * 2))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        ByteBuffer out = connection.out;
+        out.clear();
+        out.putInt(0).put(SNAPSHOT);
+        out.putInt(connection.lastProcessedSequence).put(controlling ? CONTROLLING : 0);
+        frame.encode(out, base);
+        out.putInt(0, out.position() - HEADER_BYTES);
+        out.flip();
+        connection.snapshotsSent++;
+        flush(connection);
+    }
+
+    private void flush(Connection connection) {
+        try {
+            connection.intervalBytes += connection.channel.write(connection.out);
+        } catch (IOException e) {
+            connection.close();
+            return;
+        }
+        int interest = connection.out.hasRemaining()
+                ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        if (connection.key != null && connection.key.interestOps() != interest) {
+            connection.key.interestOps(interest);
+        }
+    }
+
+    private void removeClosedConnections() {
+        for (int i = connections.size() - 1; i >= 0; i--) {
+            if (connections.get(i).closed) {
+                connections.remove(i);
+            }
+        }
+    }
+
+    private void finishMetricsInterval(long now) {
+        double seconds = (now - intervalStart) / 1e9;
+        averageTickNanos = intervalTicks == 0 ? 0 : intervalTickNanos / (double) intervalTicks;
+        averageSimulationNanos = intervalTicks == 0 ? 0 : intervalSimulationNanos / (double) intervalTicks;
+        maxTickNanos = intervalMaxTickNanos;
+
+        double[] bytesPerSecond = new double[connections.size()];
+        for (int i = 0; i < connections.size(); i++) {
+            Connection connection = connections.get(i);
+            bytesPerSecond[i] = connection.intervalBytes / seconds;
+            connection.intervalBytes = 0;
+        }
+        clientBytesPerSecond = bytesPerSecond;
+
+        if (logMetrics) {
+            StringBuilder line = new StringBuilder();
+            line.append(String.format("tick avg %.1f us (simulation %.1f us), max %.1f us; %d enemies, %d bullets",
+                    averageTickNanos / 1e3, averageSimulationNanos / 1e3, maxTickNanos / 1e3,
+                    gameWorld.getEnemyCount(), gameWorld.getBulletManager().getBullets().size()));
+            for (int i = 0; i < connections.size(); i++) {
+                Connection connection = connections.get(i);
+                line.append(String.format("%n  client %d%s: %.0f B/s, %d snapshots sent, %d skipped",
+                        i, i == 0 ? " (player)" : "", bytesPerSecond[i],
+                        connection.snapshotsSent, connection.snapshotsSkipped));
+            }
+            System.out.println(line);
+        }
+
+        intervalStart = now;
+        intervalTicks = 0;
+        intervalTickNanos = 0;
+        intervalSimulationNanos = 0;
+        intervalMaxTickNanos = 0;
+    }
+
+    /**
+     * Prints the metrics to standard output every few seconds.
+     */
+    public void setLogMetrics(boolean logMetrics) {
+        this.logMetrics = logMetrics;
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Average time of one server tick (simulation, encoding and sending) over the last
+     * metrics interval.
+     */
+    public double getAverageTickNanos() {
+        return averageTickNanos;
+    }
+
+    /**
+     * Average time of GameWorld.tick() alone over the last metrics interval.
+     */
+    public double getAverageSimulationNanos() {
+        return averageSimulationNanos;
+    }
+
+    public long getMaxTickNanos() {
+        return maxTickNanos;
+    }
+
+    /**
+     * Bytes sent to each client per second over the last metrics interval, in order of
+     * arrival (the first one controls the player).
+     */
+    public double[] getClientBytesPerSecond() {
+        return clientBytesPerSecond.clone();
+    }
+
+    /**
+     * One connected client: its buffers, queued inputs and acknowledged frame.
+     */
+    private static final class Connection {
+        final SocketChannel channel;
+        SelectionKey key;
+        boolean closed = false;
+
+        final ByteBuffer in = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+
+        // Bytes not yet written, between position and limit
+        ByteBuffer out = ByteBuffer.allocateDirect(16 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+
+        // Inputs received but not simulated yet, as a ring
+        final int[] queuedSequences = new int[MAX_QUEUED_INPUTS];
+        final int[] queuedInputs = new int[MAX_QUEUED_INPUTS];
+        int queueHead = 0;
+        int queued = 0;
+        int lastInput = PlayerInput.NONE;
+        int lastProcessedSequence = -1;
+
+        int ackTick = NetFrame.NONE;
+        int ackGeneration = NetFrame.NONE;
+
+        long intervalBytes;
+        long snapshotsSent;
+        long snapshotsSkipped;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+            out.flip();
+        }
+
+        /**
+         * The input for the next tick; when none arrived in time the last one is held.
+         */
+        int nextInput() {
+            if (queued > 0) {
+                lastInput = queuedInputs[queueHead];
+                lastProcessedSequence = queuedSequences[queueHead];
+                queueHead = (queueHead + 1) % MAX_QUEUED_INPUTS;
+                queued--;
+            }
+            return lastInput;
+        }
+
+        void close() {
+            closed = true;
+            if (key != null) {
+                key.cancel();
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Already gone
+            }
+        }
+    }
+}
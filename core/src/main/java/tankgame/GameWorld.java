@@ -0,0 +1,311 @@
+package tankgame;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Main game controller class that manages the core components of the game,
+ * including the tanks, bullets, and the game map.
+ * The world is plain state advanced by {@link #tick(int)}; it has no JavaFX
+ * dependencies, so it can be stepped headless and drawn by the GameRenderer.
+ * Tanks and bullets are rows of packed component arrays (Tanks, BulletPool),
+ * and a tick runs the systems over them: AI, input, firing and collision.
+ */
+public class GameWorld {
+    // Fixed simulation rate; every speed, cooldown and lifetime is counted in these ticks
+    public static final int TICKS_PER_SECOND = 60;
+
+    // An enemy spawns on average once in this many ticks (about every four seconds)
+    public static final int DEFAULT_SPAWN_INTERVAL = 240;
+
+    // Phases of tick() timed by the profiler
+    public static final int PHASE_EFFECTS = 0;
+    public static final int PHASE_SPAWN = 1;
+    public static final int PHASE_PATHS = 2;
+    public static final int PHASE_ENEMIES = 3;
+    public static final int PHASE_PLAYER = 4;
+    public static final int PHASE_BULLETS = 5;
+    public static final int PHASE_TICK = 6;
+    public static final String[] PHASE_NAMES = {"effects", "spawn", "paths", "enemies", "player", "bullets", "tick"};
+
+    private BulletManager bulletManager;
+    private GameMap gameMap;
+    private Tanks tanks;
+    private SpatialGrid enemyGrid;
+    private EffectManager effects = new EffectManager();
+    private EnemyUpdater enemyUpdater = new EnemyUpdater();
+    private FlowField flowField = new FlowField();
+
+    // Times the phases of every tick; off unless someone turns it on
+    private FrameProfiler profiler = new FrameProfiler(PHASE_NAMES);
+
+    // Every random decision in the world derives from this seed
+    private final long seed;
+    private final GameRandom random;
+    public int frame = 0;
+    private int score = 0;
+
+    // Id of the next enemy tank created in this world
+    private int nextEnemyId = 0;
+
+    // An enemy spawns on average once in this many ticks; 0 turns spawning off
+    private int spawnInterval = DEFAULT_SPAWN_INTERVAL;
+
+    /**
+     * Initializes all major game components and entities with a time-based seed.
+     */
+    public GameWorld() {
+        this(System.nanoTime());
+    }
+
+    /**
+     * Initializes all major game components and entities on the default map.
+     * Two worlds with the same seed and the same inputs play out identically.
+     */
+    public GameWorld(long seed) {
+        this(seed, new GameMap());
+    }
+
+    /**
+     * Initializes all major game components and entities on the given map.
+     */
+    public GameWorld(long seed, GameMap gameMap) {
+        this.seed = seed;
+        this.random = new GameRandom(seed);
+        bulletManager = new BulletManager(this);
+        this.gameMap = gameMap;
+        enemyGrid = new SpatialGrid(gameMap.getRows(), gameMap.getCols());
+        tanks = new Tanks(enemyGrid);
+        tanks.add(TankType.PLAYER, 0, 0, gameMap.getPlayerSpawnX(), gameMap.getPlayerSpawnY());
+    }
+
+    /**
+     * Advances the game state by one tick.
+     * Spawns new enemy tanks randomly, updates all enemy tanks,
+     * the player tank, and all bullets if the player is still alive.
+     *
+     * @param input the PlayerInput flags held down during this tick
+     */
+    public void tick(int input) {
+        GameEvents.Tick tickEvent = new GameEvents.Tick();
+        tickEvent.begin();
+        long tickStart = profiler.start();
+        long time = tickStart;
+
+        // Let explosions that have run their course disappear
+        effects.update(frame);
+        time = profiler.lap(PHASE_EFFECTS, time);
+
+        // Only update the game if the player is alive
+        if (tanks.getLife(Tanks.PLAYER) > 0) {
+            // Randomly spawn a new enemy tank every ~spawnInterval frames; the roll is
+            // drawn even when spawning is off so the rest of the tick sees the same numbers
+            int spawnRoll = random.nextInt();
+            if (spawnInterval > 0 && spawnRoll % spawnInterval == 0) {
+                int row = spawnEnemy();
+
+                GameEvents.Spawn spawnEvent = new GameEvents.Spawn();
+                if (spawnEvent.isEnabled()) {
+                    spawnEvent.frame = frame;
+                    spawnEvent.tankId = tanks.getId(row);
+                    spawnEvent.x = tanks.getX(row);
+                    spawnEvent.y = tanks.getY(row);
+                    spawnEvent.enemies = getEnemyCount();
+                    spawnEvent.commit();
+                }
+            }
+            time = profiler.lap(PHASE_SPAWN, time);
+
+            // Point the enemies' shared path field at the player; it is only searched
+            // again when the player has moved to another tile
+            if (getEnemyCount() > 0) {
+                flowField.update(gameMap, tanks.getX(Tanks.PLAYER), tanks.getY(Tanks.PLAYER));
+            }
+            time = profiler.lap(PHASE_PATHS, time);
+
+            // Update each enemy tank (in parallel if a pool is set)
+            enemyUpdater.update(this);
+            time = profiler.lap(PHASE_ENEMIES, time);
+
+            // Update player tank
+            InputSystem.update(this, input);
+            time = profiler.lap(PHASE_PLAYER, time);
+
+            // Update all bullets (player and enemy)
+            bulletManager.update();
+            profiler.lap(PHASE_BULLETS, time);
+        }
+        frame++;
+        profiler.lap(PHASE_TICK, tickStart);
+        profiler.endFrame();
+
+        tickEvent.end();
+        if (tickEvent.shouldCommit()) {
+            tickEvent.frame = frame - 1;
+            tickEvent.enemies = getEnemyCount();
+            tickEvent.bullets = bulletManager.getBullets().size();
+            tickEvent.effects = effects.size();
+            tickEvent.commit();
+        }
+    }
+
+    /**
+     * Exact number of bytes writeState() will write for the current world.
+     */
+    int stateBytes() {
+        return 4 + 4 + 8 + 4
+                + 4 + tanks.size() * Tanks.STATE_BYTES
+                + 8 + bulletManager.getBullets().size() * BulletPool.STATE_BYTES
+                + 8 + effects.size() * EffectManager.STATE_BYTES;
+    }
+
+    /**
+     * Writes the whole simulation state (not the map) for SaveState: frame, score,
+     * random state, next enemy id, tanks, bullets and effects, in that order.
+     */
+    void writeState(ByteBuffer out) {
+        out.putInt(frame).putInt(score).putLong(random.getState()).putInt(nextEnemyId);
+        tanks.writeState(out);
+        bulletManager.getBullets().writeState(out);
+        effects.writeState(out);
+    }
+
+    /**
+     * Restores what writeState() wrote. The tank and bullet arrays are reused, so
+     * restoring a world into itself allocates nothing.
+     */
+    void readState(ByteBuffer in) {
+        frame = in.getInt();
+        score = in.getInt();
+        random.setState(in.getLong());
+        nextEnemyId = in.getInt();
+        tanks.readState(in);
+        bulletManager.getBullets().readState(in);
+        effects.readState(in);
+    }
+
+    /**
+     * Adds an enemy tank at one of the map's spawn points (or anywhere near the top
+     * if it has none) and returns its row in Tanks.
+     */
+    public int spawnEnemy() {
+        int id = nextEnemyId();
+
+        // Each tank gets its own generator, so tanks can plan in any order or in parallel
+        int row = tanks.add(TankType.ENEMY, id, random.nextLong(), 0, 0);
+        GameRandom tankRandom = tanks.random[row];
+        if (gameMap.getEnemySpawnCount() > 0) {
+            int spawn = tankRandom.nextInt(gameMap.getEnemySpawnCount());
+            tanks.setPosition(row, gameMap.getEnemySpawnX(spawn), gameMap.getEnemySpawnY(spawn));
+        } else {
+            double x = 30 + 1000 * tankRandom.nextDouble();
+            double y = 20 + 180 * tankRandom.nextDouble();
+            tanks.setPosition(row, x, y);
+        }
+        return row;
+    }
+
+    /**
+     * Hands out enemy tank ids; they are never reused within a world.
+     */
+    int nextEnemyId() {
+        return nextEnemyId++;
+    }
+
+    // Getter/setter methods
+    public GameMap getGameMap() {
+        return gameMap;
+    }
+
+    public void setGameMap(GameMap gameMap) {
+        this.gameMap = gameMap;
+    }
+
+    /**
+     * Every tank in the world; row Tanks.PLAYER is the player's.
+     */
+    public Tanks getTanks () {
+        return tanks;
+    }
+
+    /**
+     * Number of enemy tanks, including any destroyed during the current tick.
+     */
+    public int getEnemyCount () {
+        return tanks.size() - 1;
+    }
+
+    public EffectManager getEffects () {
+        return effects;
+    }
+
+    public SpatialGrid getEnemyGrid () {
+        return enemyGrid;
+    }
+
+    /**
+     * Times the phases of tick(); only the thread running the world may start it.
+     */
+    public FrameProfiler getProfiler () {
+        return profiler;
+    }
+
+    /**
+     * Lets a world time its ticks into a profiler that outlives it (e.g. across restarts).
+     */
+    public void setProfiler (FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    public EnemyUpdater getEnemyUpdater () {
+        return enemyUpdater;
+    }
+
+    /**
+     * Directions toward the player, as of the start of the current tick.
+     */
+    public FlowField getFlowField () {
+        return flowField;
+    }
+
+    public int getSpawnInterval () {
+        return spawnInterval;
+    }
+
+    /**
+     * Changes how often enemies spawn, e.g. for a stress test: on average once in
+     * {@code ticks} ticks, or never for 0. Not part of the save state.
+     */
+    public void setSpawnInterval (int ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Spawn interval must not be negative: " + ticks);
+        }
+        this.spawnInterval = ticks;
+    }
+
+    public long getSeed () {
+        return seed;
+    }
+
+    /**
+     * The world's random generator; only the simulation thread may draw from it.
+     */
+    public GameRandom getRandom () {
+        return random;
+    }
+
+    public BulletManager getBulletManager () {
+        return bulletManager;
+    }
+
+    public void increaseScore () {
+        score += 100;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,189 @@
+package tankgame;
+
+/**
+ * Counts of recorded values (e.g. nanoseconds) in log-linear buckets, with a fixed
+ * number of significant decimal digits over the whole range.
+ * The buckets are laid out exactly like an HdrHistogram with a lowest discernible
+ * value of 1, so percentiles match what HdrHistogram would report. All storage is
+ * allocated up front; recording, removing and reading percentiles allocate nothing.
+ * Values above the highest trackable value are counted as that value.
+ * Not thread-safe: one thread records and reads.
+ */
+public class Histogram {
+    private final long highestTrackableValue;
+    private final int significantDigits;
+
+    // Each power of two range is split into subBucketCount linear sub-buckets
+    // (only the upper half of them past the first range)
+    private final int subBucketHalfCountMagnitude;
+    private final int subBucketHalfCount;
+    private final long subBucketMask;
+    private final int leadingZeroCountBase;
+
+    private final long[] counts;
+    private long totalCount = 0;
+
+    /**
+     * @param highestTrackableValue largest value told apart from larger ones, at least 2
+     * @param significantDigits     decimal digits of precision kept, 0 to 5
+     */
+    public Histogram(long highestTrackableValue, int significantDigits) {
+        if (highestTrackableValue < 2) {
+            throw new IllegalArgumentException("highestTrackableValue must be at least 2");
+        }
+        if (significantDigits < 0 || significantDigits > 5) {
+            throw new IllegalArgumentException("significantDigits must be between 0 and 5");
+        }
+        this.highestTrackableValue = highestTrackableValue;
+        this.significantDigits = significantDigits;
+
+        long largestSingleUnitResolution = 2 * (long) Math.pow(10, significantDigits);
+        int subBucketCountMagnitude = (int) Math.ceil(Math.log(largestSingleUnitResolution) / Math.log(2));
+        subBucketHalfCountMagnitude = Math.max(subBucketCountMagnitude, 1) - 1;
+        int subBucketCount = 1 << (subBucketHalfCountMagnitude + 1);
+        subBucketHalfCount = subBucketCount / 2;
+        subBucketMask = subBucketCount - 1;
+        leadingZeroCountBase = 64 - (subBucketHalfCountMagnitude + 1);
+
+        // Number of power of two ranges needed to reach the highest value
+        long smallestUntrackableValue = subBucketCount;
+        int bucketCount = 1;
+        while (smallestUntrackableValue <= highestTrackableValue) {
+            if (smallestUntrackableValue > Long.MAX_VALUE / 2) {
+                bucketCount++;
+                break;
+            }
+            smallestUntrackableValue <<= 1;
+            bucketCount++;
+        }
+        counts = new long[(bucketCount + 1) * subBucketHalfCount];
+    }
+
+    public void record(long value) {
+        counts[indexOf(value)]++;
+        totalCount++;
+    }
+
+    /**
+     * Takes back one earlier record() of the value, e.g. when it leaves a rolling window.
+     */
+    public void remove(long value) {
+        int index = indexOf(value);
+        if (counts[index] > 0) {
+            counts[index]--;
+            totalCount--;
+        }
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = 0;
+        }
+        totalCount = 0;
+    }
+
+    /**
+     * Adds every count of another histogram with the same layout.
+     */
+    public void add(Histogram other) {
+        if (other.counts.length != counts.length || other.subBucketHalfCount != subBucketHalfCount) {
+            throw new IllegalArgumentException("Histograms have different layouts");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * The value below which the given percentage (0 to 100) of the recorded values
+     * fall, up to the precision of its bucket; 0 if nothing was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double requested = Math.min(Math.max(percentile, 0), 100);
+        long countAtPercentile = Math.max(1, (long) (requested / 100 * totalCount + 0.5));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= countAtPercentile) {
+                return requested == 0 ? lowestEquivalentValue(valueFromIndex(i)) : highestEquivalentValue(valueFromIndex(i));
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * The largest recorded value, up to the precision of its bucket; 0 if nothing was recorded.
+     */
+    public long getMaxValue() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] != 0) {
+                return highestEquivalentValue(valueFromIndex(i));
+            }
+        }
+        return 0;
+    }
+
+    public long getHighestTrackableValue() {
+        return highestTrackableValue;
+    }
+
+    public int getSignificantDigits() {
+        return significantDigits;
+    }
+
+    /**
+     * Number of buckets; counts are indexed like HdrHistogram's counts array.
+     */
+    int getBucketCount() {
+        return counts.length;
+    }
+
+    long getCountAt(int index) {
+        return counts[index];
+    }
+
+    private int indexOf(long value) {
+        if (value < 0) {
+            value = 0;
+        } else if (value > highestTrackableValue) {
+            value = highestTrackableValue;
+        }
+        int bucketIndex = leadingZeroCountBase - Long.numberOfLeadingZeros(value | subBucketMask);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        return ((bucketIndex + 1) << subBucketHalfCountMagnitude) + (subBucketIndex - subBucketHalfCount);
+    }
+
+    private long valueFromIndex(int index) {
+        int bucketIndex = (index >> subBucketHalfCountMagnitude) - 1;
+        int subBucketIndex = (index & (subBucketHalfCount - 1)) + subBucketHalfCount;
+        if (bucketIndex < 0) {
+            subBucketIndex -= subBucketHalfCount;
+            bucketIndex = 0;
+        }
+        return (long) subBucketIndex << bucketIndex;
+    }
+
+    /**
+     * Width of the bucket a value falls in.
+     */
+    private long bucketWidth(long value) {
+        int bucketIndex = leadingZeroCountBase - Long.numberOfLeadingZeros(value | subBucketMask);
+        return 1L << bucketIndex;
+    }
+
+    private long lowestEquivalentValue(long value) {
+        return value & -bucketWidth(value);
+    }
+
+    private long highestEquivalentValue(long value) {
+        return lowestEquivalentValue(value) + bucketWidth(value) - 1;
+    }
+}
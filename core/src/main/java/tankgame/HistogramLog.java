@@ -0,0 +1,395 @@
+package tankgame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * Logs latency histograms (e.g. frame times and tick times) per fixed interval to a
+ * file in HdrHistogram's interval log format, version 1.3, so the standard tools
+ * (HistogramLogProcessor, HistogramLogAnalyzer, the online plotter) can read and
+ * compare runs. Every Series is one tag in the log and is recorded by one thread.
+ *
+ * Recording never blocks and allocates nothing: each series records into its
+ * current interval's Histogram and, when the interval is over, hands it to the
+ * "histogram-log" thread through a queue and carries on with a spare one. If the
+ * writer falls behind and no spare is left, the interval is simply extended. The
+ * writer compresses each interval, appends it as a line to a batch buffer and
+ * writes the batch to the FileChannel when it is full or FLUSH_NANOS old.
+ *
+ * Each line is {@code Tag=<tag>,<start s>,<length s>,<max ms>,<base64 histogram>},
+ * where the start is relative to the #[BaseTime] in the header and the histogram is
+ * HdrHistogram's compressed V2 encoding (zlib-deflated, zigzag LEB128 counts).
+ */
+public class HistogramLog implements Closeable {
+    // Default length of one logged interval
+    public static final long INTERVAL_NANOS = 1_000_000_000L;
+
+    // Batched lines are written at least this often
+    static final long FLUSH_NANOS = 10_000_000_000L;
+
+    // Batched lines are written once they take this many bytes
+    static final int BATCH_BYTES = 64 * 1024;
+
+    // Histogram layout: longest latency told apart (one minute) and precision
+    static final long HIGHEST_NANOS = 60_000_000_000L;
+    static final int SIGNIFICANT_DIGITS = 2;
+
+    // Intervals a series can have waiting for the writer before it extends its current one
+    static final int SPARES = 4;
+
+    // Interval maxima are written in milliseconds, like HdrHistogram's default
+    private static final double MAX_VALUE_UNIT_RATIO = 1_000_000.0;
+
+    // HdrHistogram V2 encoding cookies and header size
+    private static final int ENCODING_COOKIE = 0x1c849303 | 0x10;
+    private static final int COMPRESSED_ENCODING_COOKIE = 0x1c849304 | 0x10;
+    private static final int ENCODING_HEADER_BYTES = 40;
+
+    private static final byte[] BASE64 =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(StandardCharsets.US_ASCII);
+
+    private final FileChannel channel;
+    private final long intervalNanos;
+
+    // Log start: nanoTime base of every interval timestamp, and the same moment in wall time
+    private final long baseNanos;
+
+    // Finished intervals of every series, in order, waiting for the writer
+    private final ArrayBlockingQueue<Interval> finished = new ArrayBlockingQueue<>(256);
+
+    private final Thread writer;
+    private volatile boolean closing = false;
+    private IOException writeError;
+
+    // Owned by the writer thread
+    private final ByteBuffer batch = ByteBuffer.allocateDirect(BATCH_BYTES * 2);
+    private final Deflater deflater = new Deflater();
+    private ByteBuffer encoded = ByteBuffer.allocate(0);
+    private byte[] compressed = new byte[0];
+    private long lastWrite;
+
+    /**
+     * Creates (or truncates) the log file, writes its header and starts the writer thread.
+     */
+    public HistogramLog(Path file) throws IOException {
+        this(file, INTERVAL_NANOS);
+    }
+
+    public HistogramLog(Path file, long intervalNanos) throws IOException {
+        this.intervalNanos = intervalNanos;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.baseNanos = System.nanoTime();
+        long startMillis = System.currentTimeMillis();
+
+        String header = "#[Logged with Tank Game HistogramLog]\n"
+                + "#[Histogram log format version 1.3]\n"
+                + String.format(Locale.US, "#[StartTime: %.3f (seconds since epoch), %s]\n",
+                        startMillis / 1000.0, new Date(startMillis))
+                + String.format(Locale.US, "#[BaseTime: %.3f (seconds since epoch)]\n", startMillis / 1000.0)
+                + "\"StartTimestamp\",\"Interval_Length\",\"Interval_Max\",\"Interval_Compressed_Histogram\"\n";
+        batch.put(header.getBytes(StandardCharsets.US_ASCII));
+        lastWrite = baseNanos;
+
+        writer = new Thread(this::runWriter, "histogram-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Creates a series logged under the given tag; only one thread may record into it.
+     *
+     * @param tag name of the series in the log, without commas or spaces, e.g. "tick"
+     */
+    public Series series(String tag) {
+        if (tag.isEmpty() || tag.indexOf(',') >= 0 || tag.indexOf(' ') >= 0) {
+            throw new IllegalArgumentException("Invalid tag: " + tag);
+        }
+        return new Series(tag);
+    }
+
+    /**
+     * Writes every interval handed over so far and closes the file. Call the series'
+     * finish() first, on their own threads, to include their last partial intervals.
+     *
+     * @throws IOException if writing the log failed at any point
+     */
+    @Override
+    public void close() throws IOException {
+        closing = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!writer.isAlive()) {
+            // Frees zlib's native memory; only safe once the writer can't deflate anymore
+            deflater.end();
+        }
+        channel.close();
+        if (writeError != null) {
+            throw writeError;
+        }
+    }
+
+    private void runWriter() {
+        try {
+            while (true) {
+                Interval interval = finished.poll(100, TimeUnit.MILLISECONDS);
+                if (interval != null) {
+                    append(interval);
+                    interval.series.spares.offer(interval);
+                }
+                long now = System.nanoTime();
+                if (batch.position() >= BATCH_BYTES || now - lastWrite >= FLUSH_NANOS) {
+                    writeBatch(now);
+                }
+                if (interval == null && closing && finished.isEmpty()) {
+                    writeBatch(now);
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            writeError = e;
+            System.err.println("Histogram log stopped: " + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeBatch(long now) throws IOException {
+        batch.flip();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        batch.clear();
+        lastWrite = now;
+    }
+
+    /**
+     * Appends one interval as a log line to the batch.
+     */
+    private void append(Interval interval) throws IOException {
+        Histogram histogram = interval.histogram;
+        int length = compress(histogram);
+        int lineBytes = interval.series.tagLine.length + 3 * 24 + (length + 2) / 3 * 4 + 1;
+        if (batch.remaining() < lineBytes) {
+            writeBatch(System.nanoTime());
+        }
+        if (batch.remaining() < lineBytes) {
+            throw new IOException("Histogram too large to log: " + length + " bytes");
+        }
+
+        batch.put(interval.series.tagLine);
+        putSeconds(interval.startNanos - baseNanos);
+        batch.put((byte) ',');
+        putSeconds(interval.endNanos - interval.startNanos);
+        batch.put((byte) ',');
+        putThousandths(Math.round(histogram.getMaxValue() / MAX_VALUE_UNIT_RATIO * 1000));
+        batch.put((byte) ',');
+        putBase64(compressed, length);
+        batch.put((byte) '\n');
+    }
+
+    /**
+     * Encodes a histogram the way HdrHistogram's encodeIntoCompressedByteBuffer() does,
+     * into {@code compressed}, and returns the number of bytes.
+     */
+    private int compress(Histogram histogram) {
+        int maxEncoded = ENCODING_HEADER_BYTES + histogram.getBucketCount() * 9;
+        if (encoded.capacity() < maxEncoded) {
+            encoded = ByteBuffer.allocate(maxEncoded);
+            compressed = new byte[8 + maxEncoded + maxEncoded / 100 + 64];
+        }
+
+        // Uncompressed V2 encoding: header, then the counts up to the highest non-empty one,
+        // with runs of empty buckets written as their negated length
+        encoded.clear();
+        encoded.putInt(ENCODING_COOKIE);
+        encoded.putInt(0);
+        encoded.putInt(0);
+        encoded.putInt(histogram.getSignificantDigits());
+        encoded.putLong(1);
+        encoded.putLong(histogram.getHighestTrackableValue());
+        encoded.putDouble(1.0);
+
+        int limit = 1;
+        for (int i = histogram.getBucketCount() - 1; i >= 0; i--) {
+            if (histogram.getCountAt(i) != 0) {
+                limit = i + 1;
+                break;
+            }
+        }
+        int index = 0;
+        while (index < limit) {
+            long count = histogram.getCountAt(index++);
+            long zeros = 0;
+            if (count == 0) {
+                zeros = 1;
+                while (index < limit && histogram.getCountAt(index) == 0) {
+                    zeros++;
+                    index++;
+                }
+            }
+            putZigZag(encoded, zeros > 1 ? -zeros : count);
+        }
+        encoded.putInt(4, encoded.position() - ENCODING_HEADER_BYTES);
+
+        deflater.reset();
+        deflater.setInput(encoded.array(), 0, encoded.position());
+        deflater.finish();
+        int length = 8;
+        while (!deflater.finished()) {
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        ByteBuffer header = ByteBuffer.wrap(compressed);
+        header.putInt(0, COMPRESSED_ENCODING_COOKIE);
+        header.putInt(4, length - 8);
+        return length;
+    }
+
+    /**
+     * ZigZag LEB128 as HdrHistogram writes it: 7 bits per byte, at most 9 bytes.
+     */
+    private static void putZigZag(ByteBuffer out, long value) {
+        value = (value << 1) ^ (value >> 63);
+        for (int shift = 0; shift < 56; shift += 7) {
+            if ((value >>> (shift + 7)) == 0) {
+                out.put((byte) (value >>> shift));
+                return;
+            }
+            out.put((byte) ((value >>> shift) | 0x80));
+        }
+        out.put((byte) (value >>> 56));
+    }
+
+    private void putSeconds(long nanos) {
+        putThousandths(Math.round(nanos / 1_000_000.0));
+    }
+
+    /**
+     * Writes a non-negative number of thousandths as a decimal with three places.
+     */
+    private void putThousandths(long thousandths) {
+        putDigits(thousandths / 1000);
+        long fraction = thousandths % 1000;
+        batch.put((byte) '.');
+        batch.put((byte) ('0' + fraction / 100));
+        batch.put((byte) ('0' + fraction / 10 % 10));
+        batch.put((byte) ('0' + fraction % 10));
+    }
+
+    private void putDigits(long value) {
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            batch.put((byte) ('0' + value / divisor % 10));
+        }
+    }
+
+    private void putBase64(byte[] bytes, int length) {
+        int i = 0;
+        for (; i + 2 < length; i += 3) {
+            int bits = (bytes[i] & 0xFF) << 16 | (bytes[i + 1] & 0xFF) << 8 | (bytes[i + 2] & 0xFF);
+            batch.put(BASE64[bits >>> 18]).put(BASE64[bits >>> 12 & 63]).put(BASE64[bits >>> 6 & 63]).put(BASE64[bits & 63]);
+        }
+        if (i < length) {
+            int bits = (bytes[i] & 0xFF) << 16 | (i + 1 < length ? (bytes[i + 1] & 0xFF) << 8 : 0);
+            batch.put(BASE64[bits >>> 18]).put(BASE64[bits >>> 12 & 63]);
+            batch.put(i + 1 < length ? BASE64[bits >>> 6 & 63] : (byte) '=').put((byte) '=');
+        }
+    }
+
+    /**
+     * One interval of one series on its way between the recording thread and the writer.
+     */
+    private static final class Interval {
+        final Series series;
+        final Histogram histogram = new Histogram(HIGHEST_NANOS, SIGNIFICANT_DIGITS);
+        long startNanos, endNanos;
+
+        Interval(Series series) {
+            this.series = series;
+        }
+    }
+
+    /**
+     * One tagged series of latencies, recorded by a single thread.
+     */
+    public final class Series {
+        // "Tag=<tag>," in ASCII
+        private final byte[] tagLine;
+        private final ArrayBlockingQueue<Interval> spares = new ArrayBlockingQueue<>(SPARES);
+        private Interval current;
+        private boolean started = false;
+
+        private Series(String tag) {
+            tagLine = ("Tag=" + tag + ",").getBytes(StandardCharsets.US_ASCII);
+            current = new Interval(this);
+            for (int i = 0; i < SPARES; i++) {
+                spares.offer(new Interval(this));
+            }
+        }
+
+        /**
+         * Records one latency; intervals are timed by the {@code now} of the records.
+         *
+         * @param now   System.nanoTime() (or a clock on the same base) of the record
+         * @param nanos the latency
+         */
+        public void record(long now, long nanos) {
+            if (!started) {
+                started = true;
+                current.startNanos = now;
+            } else if (now - current.startNanos >= intervalNanos) {
+                rotate(now);
+            }
+            current.histogram.record(nanos);
+        }
+
+        /**
+         * Hands the current partial interval to the writer, e.g. when the recording
+         * thread stops. Recording afterwards starts a new interval.
+         */
+        public void finish(long now) {
+            if (started && current.histogram.getTotalCount() > 0) {
+                // Unlike a rotation this must not be put off, so a spare is made if none is left
+                Interval next = spares.poll();
+                handOver(now, next != null ? next : new Interval(this));
+            }
+            started = false;
+        }
+
+        private void rotate(long now) {
+            Interval next = spares.poll();
+            if (next == null) {
+                // The writer is behind: keep extending this interval rather than allocate
+                return;
+            }
+            handOver(now, next);
+        }
+
+        private void handOver(long now, Interval next) {
+            current.endNanos = now;
+            if (!finished.offer(current)) {
+                spares.offer(next);
+                return;
+            }
+            next.histogram.reset();
+            next.startNanos = now;
+            current = next;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package tankgame;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Records one game session as its seed plus the PlayerInput flags of every tick, so
+ * Replay can play it again tick for tick.
+ * The input rarely changes between ticks, so it is stored as runs: how many ticks
+ * (the delta to the next change) a set of flags was held.
+ *
+ * Layout:
+ * <pre>
+ * magic "TREC", format version (1 byte), seed (8 bytes, little-endian)
+ * runs:    varint ticks held (at least 1), input flags (1 byte)
+ *          varint 0 ends the runs
+ * trailer: varint total ticks, zigzag varint score, zigzag varint lives left
+ * </pre>
+ * Varints are little-endian base 128: 7 bits per byte, high bit set on all but the last.
+ * The trailer lets a replay check that it reproduced the recorded outcome.
+ */
+public class InputRecorder {
+    static final int MAGIC = 'T' | 'R' << 8 | 'E' << 16 | 'C' << 24;
+    static final int VERSION = 1;
+
+    private final OutputStream out;
+
+    // The run being counted: its input flags and how many ticks it lasted so far
+    private int runInput = PlayerInput.NONE;
+    private long runLength = 0;
+
+    private long ticks = 0;
+
+    /**
+     * Starts a recording for a world with the given seed, replacing the file if it exists.
+     */
+    public InputRecorder(Path file, long seed) throws IOException {
+        this.out = new BufferedOutputStream(Files.newOutputStream(file));
+        writeFixed(MAGIC, 4);
+        out.write(VERSION);
+        writeFixed(seed, 8);
+    }
+
+    /**
+     * Records the input of one tick; call once per GameWorld.tick(), with the same flags.
+     */
+    public void record(int input) throws IOException {
+        if (input != runInput && runLength > 0) {
+            writeRun();
+        }
+        runInput = input;
+        runLength++;
+        ticks++;
+    }
+
+    /**
+     * Writes the last run and the outcome of the world, then closes the file.
+     */
+    public void close(GameWorld gameWorld) throws IOException {
+        try {
+            if (runLength > 0) {
+                writeRun();
+            }
+            writeVarint(0);
+            writeVarint(ticks);
+            writeVarint(Varint.zigzag(gameWorld.getScore()));
+            writeVarint(Varint.zigzag(gameWorld.getTanks().getLife(Tanks.PLAYER)));
+        } finally {
+            out.close();
+        }
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    private void writeRun() throws IOException {
+        writeVarint(runLength);
+        out.write(runInput);
+        runLength = 0;
+    }
+
+    private void writeVarint(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private void writeFixed(long value, int bytes) throws IOException {
+        for (int i = 0; i < bytes; i++) {
+            out.write((int) (value >>> (8 * i)));
+        }
+    }
+}
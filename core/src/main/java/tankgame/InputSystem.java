@@ -0,0 +1,45 @@
+package tankgame;
+
+/**
+ * Drives the player's tank from the tick's input: moves it in the first pressed
+ * direction (up, down, left, right), advances or resets its animation, and fires
+ * when the fire key is held and the weapon has cooled down.
+ */
+public final class InputSystem {
+    // Directions in the order their keys are checked; the first pressed one wins
+    private static final int[] KEYS = {PlayerInput.UP, PlayerInput.DOWN, PlayerInput.LEFT, PlayerInput.RIGHT};
+    private static final Direction[] DIRECTIONS = {Direction.UP, Direction.DOWN, Direction.LEFT, Direction.RIGHT};
+
+    private InputSystem() {
+    }
+
+    /**
+     * Updates the player's tank for one tick.
+     *
+     * @param input the PlayerInput flags held down during this tick
+     */
+    public static void update(GameWorld gameWorld, int input) {
+        Tanks tanks = gameWorld.getTanks();
+        int row = Tanks.PLAYER;
+        tanks.prevX[row] = tanks.x[row];
+        tanks.prevY[row] = tanks.y[row];
+        tanks.animation[row]++;
+
+        boolean isMoving = false;
+        for (int i = 0; i < KEYS.length; i++) {
+            if (PlayerInput.isPressed(input, KEYS[i])) {
+                MovementSystem.move(tanks, row, DIRECTIONS[i], gameWorld.getGameMap());
+                isMoving = true;
+                break;
+            }
+        }
+        // Reset animation frame when idle
+        if (!isMoving) {
+            tanks.animation[row] = 0;
+        }
+
+        tanks.fireIntent[row] = PlayerInput.isPressed(input, PlayerInput.FIRE)
+                && (gameWorld.frame - tanks.lastShot[row]) >= tanks.type[row].fireCooldown;
+        FiringSystem.fire(gameWorld, row);
+    }
+}
@@ -0,0 +1,88 @@
+package tankgame;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Turns a text level into the binary level format, so levels can be drawn in any editor.
+ * One character per tile, one line per row:
+ * <pre>
+ * #          wall
+ * . or space empty
+ * P          empty, player starts here (the last P wins; without one the
+ *            player starts where it does on the default map)
+ * E          empty, enemies spawn here
+ * </pre>
+ * Short lines are padded with empty tiles. Nothing is added around the layout, but
+ * everything outside the map counts as wall anyway.
+ *
+ * Usage: java -cp core/target/classes tankgame.LevelConverter level.txt level.lvl
+ */
+public final class LevelConverter {
+
+    private LevelConverter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: LevelConverter <level.txt> <level.lvl>");
+            System.exit(2);
+        }
+        GameMap map = parse(Paths.get(args[0]));
+        LevelFile.write(map, Paths.get(args[1]));
+        System.out.println("Wrote " + map.getRows() + "x" + map.getCols() + " level with "
+                + map.getEnemySpawnCount() + " enemy spawns to " + args[1]);
+    }
+
+    /**
+     * Reads a text level into a new map. The file is read twice, first for its size,
+     * so large levels are never held in memory as text.
+     *
+     * @throws IOException if the file can't be read or contains an unknown character
+     */
+    public static GameMap parse(Path path) throws IOException {
+        int rows = 0;
+        int cols = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                rows++;
+                cols = Math.max(cols, line.length());
+            }
+        }
+        if (rows == 0 || cols == 0) {
+            throw new IOException(path + " is empty");
+        }
+
+        GameMap map = GameMap.empty(rows, cols);
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            for (int row = 0; row < rows; row++) {
+                String line = reader.readLine();
+                for (int col = 0; col < line.length(); col++) {
+                    switch (line.charAt(col)) {
+                        case '#':
+                            map.setWall(row, col, true);
+                            break;
+                        case '.':
+                        case ' ':
+                            break;
+                        case 'P':
+                            map.setPlayerSpawn(col * GameMap.TILE_SIZE, row * GameMap.TILE_SIZE);
+                            break;
+                        case 'E':
+                            map.addEnemySpawn(col * GameMap.TILE_SIZE, row * GameMap.TILE_SIZE);
+                            break;
+                        default:
+                            throw new IOException(path + ":" + (row + 1) + ":" + (col + 1)
+                                    + ": unknown tile '" + line.charAt(col) + "'");
+                    }
+                }
+            }
+        }
+        return map;
+    }
+}
@@ -0,0 +1,147 @@
+package tankgame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes the binary level format.
+ * Loading memory-maps the file and hands the tile planes to GameMap as they are,
+ * so it takes the same time for any level size; the OS pages tiles in when they
+ * are first read.
+ *
+ * Layout (all values little-endian):
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "TLVL"
+ *      4     2  format version (1)
+ *      6     2  header size in bytes (32)
+ *      8     4  rows
+ *     12     4  columns
+ *     16     4  player spawn x, in pixels
+ *     20     4  player spawn y, in pixels
+ *     24     4  number of enemy spawn points (n)
+ *     28     4  reserved, 0
+ *     32    8n  enemy spawn points, x then y in pixels
+ *      -     -  zero padding up to a multiple of 8
+ *      T    8w  solid plane: w = ceil(rows * columns / 64) longs, tile i at bit (i & 63) of long (i >>> 6)
+ *   T+8w    8w  variant plane, same layout
+ * </pre>
+ * Tiles are numbered row-major (i = row * columns + col), as in GameMap.
+ */
+public final class LevelFile {
+    static final int MAGIC = 'T' | 'L' << 8 | 'V' << 16 | 'L' << 24;
+    static final short VERSION = 1;
+    static final short HEADER_SIZE = 32;
+
+    private LevelFile() {
+    }
+
+    /**
+     * Maps a level file into a read-only GameMap; changing its tiles throws
+     * ReadOnlyBufferException. Only the header and spawn points are read up front.
+     *
+     * @throws IOException if the file can't be read or is not a valid level file
+     */
+    public static GameMap load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException(path + " is not a level file");
+            }
+            MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            file.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (file.getInt(0) != MAGIC) {
+                throw new IOException(path + " is not a level file");
+            }
+            if (file.getShort(4) != VERSION || file.getShort(6) != HEADER_SIZE) {
+                throw new IOException(path + " has unsupported level format version " + file.getShort(4));
+            }
+            int rows = file.getInt(8);
+            int cols = file.getInt(12);
+            int spawnCount = file.getInt(24);
+            if (rows <= 0 || cols <= 0 || (long) rows * cols > Integer.MAX_VALUE || spawnCount < 0) {
+                throw new IOException(path + " has an invalid level header");
+            }
+            int words = GameMap.wordsFor(rows, cols);
+            long planesAt = planesOffset(spawnCount);
+            if (planesAt + 2L * words * Long.BYTES != size) {
+                throw new IOException(path + " is truncated or has trailing data");
+            }
+
+            LongBuffer solid = plane(file, (int) planesAt, words);
+            LongBuffer variant = plane(file, (int) planesAt + words * Long.BYTES, words);
+            GameMap map = new GameMap(rows, cols, solid, variant);
+            map.setPlayerSpawn(file.getInt(16), file.getInt(20));
+            for (int i = 0; i < spawnCount; i++) {
+                map.addEnemySpawn(file.getInt(HEADER_SIZE + i * 8), file.getInt(HEADER_SIZE + i * 8 + 4));
+            }
+            return map;
+        }
+    }
+
+    /**
+     * Writes a map to a level file, replacing the file if it exists.
+     */
+    public static void write(GameMap map, Path path) throws IOException {
+        int spawnCount = map.getEnemySpawnCount();
+        int words = GameMap.wordsFor(map.getRows(), map.getCols());
+        long planesAt = planesOffset(spawnCount);
+        long size = planesAt + 2L * words * Long.BYTES;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Level too large for one file: " + size + " bytes");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            file.order(ByteOrder.LITTLE_ENDIAN);
+
+            file.putInt(0, MAGIC);
+            file.putShort(4, VERSION);
+            file.putShort(6, HEADER_SIZE);
+            file.putInt(8, map.getRows());
+            file.putInt(12, map.getCols());
+            file.putInt(16, map.getPlayerSpawnX());
+            file.putInt(20, map.getPlayerSpawnY());
+            file.putInt(24, spawnCount);
+            file.putInt(28, 0);
+            for (int i = 0; i < spawnCount; i++) {
+                file.putInt(HEADER_SIZE + i * 8, map.getEnemySpawnX(i));
+                file.putInt(HEADER_SIZE + i * 8 + 4, map.getEnemySpawnY(i));
+            }
+
+            // Bulk copies between buffers of the same byte order
+            plane(file, (int) planesAt, words).put(source(map.getSolidPlane(), words));
+            plane(file, (int) planesAt + words * Long.BYTES, words).put(source(map.getVariantPlane(), words));
+            file.force();
+        }
+    }
+
+    /**
+     * Byte offset of the tile planes, after the header and the spawn points, aligned to 8.
+     */
+    private static long planesOffset(int spawnCount) {
+        return (HEADER_SIZE + 8L * spawnCount + 7) & ~7L;
+    }
+
+    private static LongBuffer plane(ByteBuffer file, int offset, int words) {
+        ByteBuffer bytes = file.duplicate();
+        bytes.position(offset);
+        bytes.limit(offset + words * Long.BYTES);
+        return bytes.slice().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+    }
+
+    private static LongBuffer source(LongBuffer plane, int words) {
+        LongBuffer copy = plane.duplicate();
+        copy.position(0);
+        copy.limit(words);
+        return copy;
+    }
+}
@@ -0,0 +1,52 @@
+package tankgame;
+
+/**
+ * Moves tanks against the walls; the one movement rule shared by every kind of tank.
+ * A tank steps by its type's speed and then probes three points along its leading
+ * edge (the type's wall probes); if any of them is in a wall, the step is undone.
+ */
+public final class MovementSystem {
+
+    private MovementSystem() {
+    }
+
+    /**
+     * Turns a tank to the given direction and moves it one step unless a wall is in the way.
+     * Only the tank's own row is written, so different tanks can move concurrently;
+     * the caller updates the grid afterwards.
+     */
+    static void move(Tanks tanks, int row, Direction direction, GameMap map) {
+        TankType type = tanks.type[row];
+        int d = direction.ordinal();
+        tanks.direction[row] = (byte) d;
+
+        double x = tanks.x[row];
+        double y = tanks.y[row];
+        double speed = type.speed;
+        switch (direction) {
+            case RIGHT:
+                x += speed;
+                break;
+            case LEFT:
+                x -= speed;
+                break;
+            case UP:
+                y -= speed;
+                break;
+            case DOWN:
+                y += speed;
+                break;
+        }
+
+        int[] probes = type.probes;
+        int first = d * TankType.PROBES * 2;
+        for (int i = first; i < first + TankType.PROBES * 2; i += 2) {
+            if (map.isWall(GameMap.toTile(y + probes[i + 1]), GameMap.toTile(x + probes[i]))) {
+                // Blocked: stay where the tank was
+                return;
+            }
+        }
+        tanks.x[row] = x;
+        tanks.y[row] = y;
+    }
+}
@@ -0,0 +1,291 @@
+package tankgame;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The tanks or the bullets of one network snapshot, sorted by id, as parallel arrays.
+ * Positions and velocities are fixed point (FIXED_ONE units per pixel), so the server
+ * and the client extrapolate them with exactly the same integer arithmetic.
+ *
+ * Delta encoding against a baseline the client already has:
+ * <pre>
+ * varint removed count, then each removed id as a varint gap from the previous one
+ * varint changed count, then per entity:
+ *     varint id gap from the previous changed id
+ *     if the id is in the baseline: zigzag varint x, y, vx, vy minus the baseline
+ *                                   extrapolated to this tick
+ *     otherwise:                    zigzag varint x, y, vx, vy
+ *     direction (1 byte), extra (1 byte)
+ * </pre>
+ * An entity that moved exactly as extrapolated from the baseline (x + vx * ticks, same
+ * velocity, direction and extra) is not written at all.
+ */
+final class NetEntities {
+    static final int FIXED_ONE = 256;
+
+    // Smallest encoding of a changed entity: id gap, four coordinates, direction and extra
+    private static final int MIN_CHANGED_BYTES = 7;
+
+    int count;
+    int[] id = new int[64];
+    int[] x = new int[64];
+    int[] y = new int[64];
+    int[] vx = new int[64];
+    int[] vy = new int[64];
+    byte[] direction = new byte[64];
+    byte[] extra = new byte[64];
+
+    // Scratch space of encode() and decode(), reused between calls
+    private int[] removed = new int[64];
+    private int[] changed = new int[64];
+    private int[] changedBase = new int[64];
+    private long[] sortKeys = new long[64];
+    private NetEntities sortCopy;
+
+    void clear() {
+        count = 0;
+    }
+
+    /**
+     * Appends an entity; callers add them in id order or call sortById() afterwards.
+     */
+    void add(int id, int x, int y, int vx, int vy, int direction, int extra) {
+        if (count == this.id.length) {
+            int capacity = count * 2;
+            this.id = Arrays.copyOf(this.id, capacity);
+            this.x = Arrays.copyOf(this.x, capacity);
+            this.y = Arrays.copyOf(this.y, capacity);
+            this.vx = Arrays.copyOf(this.vx, capacity);
+            this.vy = Arrays.copyOf(this.vy, capacity);
+            this.direction = Arrays.copyOf(this.direction, capacity);
+            this.extra = Arrays.copyOf(this.extra, capacity);
+        }
+        this.id[count] = id;
+        this.x[count] = x;
+        this.y[count] = y;
+        this.vx[count] = vx;
+        this.vy[count] = vy;
+        this.direction[count] = (byte) direction;
+        this.extra[count] = (byte) extra;
+        count++;
+    }
+
+    /**
+     * Restores id order after entities were added out of order (bullets move between
+     * pool slots). Does nothing if they are already sorted.
+     */
+    void sortById() {
+        boolean sorted = true;
+        for (int i = 1; i < count && sorted; i++) {
+            sorted = id[i - 1] < id[i];
+        }
+        if (sorted) {
+            return;
+        }
+        if (sortKeys.length < count) {
+            sortKeys = new long[id.length];
+        }
+        for (int i = 0; i < count; i++) {
+            sortKeys[i] = (long) id[i] << 32 | i;
+        }
+        Arrays.sort(sortKeys, 0, count);
+
+        if (sortCopy == null) {
+            sortCopy = new NetEntities();
+        }
+        NetEntities copy = sortCopy;
+        copy.copyFrom(this);
+        for (int i = 0; i < count; i++) {
+            int from = (int) sortKeys[i];
+            id[i] = copy.id[from];
+            x[i] = copy.x[from];
+            y[i] = copy.y[from];
+            vx[i] = copy.vx[from];
+            vy[i] = copy.vy[from];
+            direction[i] = copy.direction[from];
+            extra[i] = copy.extra[from];
+        }
+    }
+
+    void copyFrom(NetEntities other) {
+        clear();
+        for (int i = 0; i < other.count; i++) {
+            add(other.id[i], other.x[i], other.y[i], other.vx[i], other.vy[i], other.direction[i], other.extra[i]);
+        }
+    }
+
+    /**
+     * Upper bound of the bytes encode() writes for this table against a baseline.
+     */
+    int maxEncodedBytes(NetEntities base) {
+        int baseCount = base == null ? 0 : base.count;
+        return 10 + 10 + baseCount * 5 + count * (5 + 4 * 5 + 2);
+    }
+
+    /**
+     * Writes this table as a delta against a baseline that is {@code ticks} ticks older,
+     * or in full when the baseline is null.
+     */
+    void encode(ByteBuffer out, NetEntities base, int ticks) {
+        int removedCount = 0;
+        int changedCount = 0;
+        ensureScratch(count + (base == null ? 0 : base.count));
+
+        int j = 0;
+        int baseCount = base == null ? 0 : base.count;
+        for (int i = 0; i < count; i++) {
+            while (j < baseCount && base.id[j] < id[i]) {
+                removed[removedCount++] = base.id[j++];
+            }
+            if (j < baseCount && base.id[j] == id[i]) {
+                if (!matchesExtrapolated(i, base, j, ticks)) {
+                    changed[changedCount] = i;
+                    changedBase[changedCount++] = j;
+                }
+                j++;
+            } else {
+                changed[changedCount] = i;
+                changedBase[changedCount++] = -1;
+            }
+        }
+        while (j < baseCount) {
+            removed[removedCount++] = base.id[j++];
+        }
+
+        Varint.put(out, removedCount);
+        int previous = 0;
+        for (int r = 0; r < removedCount; r++) {
+            Varint.put(out, removed[r] - previous);
+            previous = removed[r];
+        }
+
+        Varint.put(out, changedCount);
+        previous = 0;
+        for (int c = 0; c < changedCount; c++) {
+            int i = changed[c];
+            int b = changedBase[c];
+            Varint.put(out, id[i] - previous);
+            previous = id[i];
+            if (b >= 0) {
+                Varint.putSigned(out, x[i] - (base.x[b] + base.vx[b] * ticks));
+                Varint.putSigned(out, y[i] - (base.y[b] + base.vy[b] * ticks));
+                Varint.putSigned(out, vx[i] - base.vx[b]);
+                Varint.putSigned(out, vy[i] - base.vy[b]);
+            } else {
+                Varint.putSigned(out, x[i]);
+                Varint.putSigned(out, y[i]);
+                Varint.putSigned(out, vx[i]);
+                Varint.putSigned(out, vy[i]);
+            }
+            out.put(direction[i]).put(extra[i]);
+        }
+    }
+
+    /**
+     * Replaces this table with the one encoded against the baseline (null for a full table).
+     */
+    void decode(ByteBuffer in, NetEntities base, int ticks) {
+        clear();
+        int baseCount = base == null ? 0 : base.count;
+
+        int removedCount = readCount(in, baseCount, 1, "removed");
+        ensureScratch(removedCount);
+        int previous = 0;
+        for (int r = 0; r < removedCount; r++) {
+            previous += (int) Varint.get(in);
+            removed[r] = previous;
+        }
+
+        int changedCount = readCount(in, Integer.MAX_VALUE, MIN_CHANGED_BYTES, "changed");
+        int j = 0;
+        int r = 0;
+        previous = 0;
+        for (int c = 0; c < changedCount; c++) {
+            int changedId = previous + (int) Varint.get(in);
+            previous = changedId;
+
+            // Baseline entities before this one were not written: they moved as extrapolated
+            while (j < baseCount && base.id[j] < changedId) {
+                r = addExtrapolated(base, j++, ticks, r, removedCount);
+            }
+            if (j < baseCount && base.id[j] == changedId) {
+                int ex = base.x[j] + base.vx[j] * ticks;
+                int ey = base.y[j] + base.vy[j] * ticks;
+                add(changedId,
+                        ex + (int) Varint.getSigned(in),
+                        ey + (int) Varint.getSigned(in),
+                        base.vx[j] + (int) Varint.getSigned(in),
+                        base.vy[j] + (int) Varint.getSigned(in),
+                        in.get(), in.get());
+                j++;
+            } else {
+                add(changedId,
+                        (int) Varint.getSigned(in),
+                        (int) Varint.getSigned(in),
+                        (int) Varint.getSigned(in),
+                        (int) Varint.getSigned(in),
+                        in.get(), in.get());
+            }
+        }
+        while (j < baseCount) {
+            r = addExtrapolated(base, j++, ticks, r, removedCount);
+        }
+    }
+
+    /**
+     * Reads an entity count, rejecting (before anything is allocated for it) counts
+     * above {@code max} and counts of entries that can't fit in the rest of the buffer,
+     * each entry taking at least {@code minBytes}.
+     *
+     * @throws IllegalArgumentException if the count is out of range
+     */
+    private static int readCount(ByteBuffer in, int max, int minBytes, String what) {
+        long count = Varint.get(in);
+        if (count < 0 || count > max || count > in.remaining() / minBytes) {
+            throw new IllegalArgumentException("Bad " + what + " entity count " + count);
+        }
+        return (int) count;
+    }
+
+    /**
+     * Adds a baseline entity moved {@code ticks} ticks along its velocity, unless it is
+     * the next removed id. Returns the new position in the removed list.
+     */
+    private int addExtrapolated(NetEntities base, int j, int ticks, int r, int removedCount) {
+        while (r < removedCount && removed[r] < base.id[j]) {
+            r++;
+        }
+        if (r < removedCount && removed[r] == base.id[j]) {
+            return r + 1;
+        }
+        add(base.id[j], base.x[j] + base.vx[j] * ticks, base.y[j] + base.vy[j] * ticks,
+                base.vx[j], base.vy[j], base.direction[j], base.extra[j]);
+        return r;
+    }
+
+    private boolean matchesExtrapolated(int i, NetEntities base, int j, int ticks) {
+        return x[i] == base.x[j] + base.vx[j] * ticks
+                && y[i] == base.y[j] + base.vy[j] * ticks
+                && vx[i] == base.vx[j]
+                && vy[i] == base.vy[j]
+                && direction[i] == base.direction[j]
+                && extra[i] == base.extra[j];
+    }
+
+    private void ensureScratch(int size) {
+        if (removed.length < size) {
+            removed = new int[size];
+            changed = new int[size];
+            changedBase = new int[size];
+        }
+    }
+
+    static int fixed(double pixels) {
+        return (int) Math.round(pixels * FIXED_ONE);
+    }
+
+    static double pixels(int fixed) {
+        return fixed / (double) FIXED_ONE;
+    }
+}
@@ -0,0 +1,189 @@
+package tankgame;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * What a client sees of one server tick: score, the player's exact state, the enemy
+ * tanks and bullets as fixed-point NetEntities tables and the live explosions.
+ * The server keeps a short history of frames so it can encode each tick against the
+ * frame a client acknowledged last; the client keeps the frames it decoded for the
+ * same reason, so both sides hold the same baseline.
+ *
+ * Layout (after the GameServer message header):
+ * <pre>
+ * tick (4 bytes), baseline tick (4 bytes, -1 for a full frame), world generation (4 bytes)
+ * zigzag varint score
+ * player flag (1 byte): 0 = same as the baseline, 1 = followed by the player's Tanks row state
+ * tanks, bullets: NetEntities deltas (bullet extra = owner)
+ * varint effect count, then per effect spawned from the baseline tick on (an effect
+ *     spawned while stepping from tick t to t + 1 has frame t, so it is not in frame t):
+ *     varint age in ticks, zigzag varint x, y (fixed point), large (1 byte)
+ * </pre>
+ */
+final class NetFrame {
+    // Not a valid tick, so an empty frame never matches a baseline
+    static final int NONE = -1;
+
+    int tick = NONE;
+    int generation = NONE;
+    int score;
+
+    final byte[] player = new byte[Tanks.STATE_BYTES];
+    private final ByteBuffer playerBuffer = ByteBuffer.wrap(player).order(ByteOrder.LITTLE_ENDIAN);
+
+    final NetEntities tanks = new NetEntities();
+    final NetEntities bullets = new NetEntities();
+
+    int effectCount;
+    final int[] effectX = new int[EffectManager.CAPACITY];
+    final int[] effectY = new int[EffectManager.CAPACITY];
+    final int[] effectFrame = new int[EffectManager.CAPACITY];
+    final boolean[] effectLarge = new boolean[EffectManager.CAPACITY];
+
+    /**
+     * Quantizes the current state of a world; {@code tick} is the world's frame.
+     */
+    void capture(GameWorld world, int generation) {
+        this.tick = world.frame;
+        this.generation = generation;
+        this.score = world.getScore();
+
+        Tanks worldTanks = world.getTanks();
+        playerBuffer.clear();
+        worldTanks.writeState(Tanks.PLAYER, playerBuffer);
+
+        // Tanks are created in id order and removals keep the order, bullets are not
+        tanks.clear();
+        for (int row = Tanks.PLAYER + 1; row < worldTanks.size(); row++) {
+            int x = NetEntities.fixed(worldTanks.getX(row));
+            int y = NetEntities.fixed(worldTanks.getY(row));
+            tanks.add(worldTanks.getId(row), x, y, x - NetEntities.fixed(worldTanks.getPrevX(row)),
+                    y - NetEntities.fixed(worldTanks.getPrevY(row)), worldTanks.getDirection(row).ordinal(), 0);
+        }
+        tanks.sortById();
+
+        BulletPool pool = world.getBulletManager().getBullets();
+        bullets.clear();
+        for (int slot = 0; slot < pool.size(); slot++) {
+            int x = NetEntities.fixed(pool.getX(slot));
+            int y = NetEntities.fixed(pool.getY(slot));
+            bullets.add(pool.getId(slot), x, y, x - NetEntities.fixed(pool.getPrevX(slot)),
+                    y - NetEntities.fixed(pool.getPrevY(slot)), pool.getDirection(slot).ordinal(),
+                    pool.getOwner(slot));
+        }
+        bullets.sortById();
+
+        EffectManager effects = world.getEffects();
+        effectCount = 0;
+        for (int slot = 0; slot < EffectManager.CAPACITY; slot++) {
+            if (effects.isActive(slot)) {
+                effectX[effectCount] = NetEntities.fixed(effects.getX(slot));
+                effectY[effectCount] = NetEntities.fixed(effects.getY(slot));
+                effectFrame[effectCount] = effects.getSpawnFrame(slot);
+                effectLarge[effectCount] = effects.isLarge(slot);
+                effectCount++;
+            }
+        }
+    }
+
+    /**
+     * Upper bound of the bytes encode() writes against the baseline.
+     */
+    int maxEncodedBytes(NetFrame base) {
+        return 12 + 5 + 1 + Tanks.STATE_BYTES
+                + tanks.maxEncodedBytes(base == null ? null : base.tanks)
+                + bullets.maxEncodedBytes(base == null ? null : base.bullets)
+                + 5 + effectCount * (5 + 5 + 5 + 1);
+    }
+
+    /**
+     * Writes this frame as a delta against an older frame of the same generation,
+     * or in full when the baseline is null.
+     */
+    void encode(ByteBuffer out, NetFrame base) {
+        int baseTick = base == null ? NONE : base.tick;
+        int ticks = tick - baseTick;
+        out.putInt(tick).putInt(baseTick).putInt(generation);
+        Varint.putSigned(out, score);
+
+        if (base != null && Arrays.equals(player, base.player)) {
+            out.put((byte) 0);
+        } else {
+            out.put((byte) 1).put(player);
+        }
+
+        tanks.encode(out, base == null ? null : base.tanks, ticks);
+        bullets.encode(out, base == null ? null : base.bullets, ticks);
+
+        int sent = 0;
+        for (int i = 0; i < effectCount; i++) {
+            if (effectFrame[i] >= baseTick) {
+                sent++;
+            }
+        }
+        Varint.put(out, sent);
+        for (int i = 0; i < effectCount; i++) {
+            if (effectFrame[i] >= baseTick) {
+                Varint.put(out, tick - effectFrame[i]);
+                Varint.putSigned(out, effectX[i]);
+                Varint.putSigned(out, effectY[i]);
+                out.put((byte) (effectLarge[i] ? 1 : 0));
+            }
+        }
+    }
+
+    /**
+     * Reads the tick, baseline tick and generation at the start of an encoded frame,
+     * leaving the buffer position unchanged. Returns the baseline tick.
+     */
+    static int peekBaseTick(ByteBuffer in) {
+        return in.getInt(in.position() + 4);
+    }
+
+    /**
+     * Replaces this frame with an encoded one. The baseline must be the frame whose
+     * tick peekBaseTick() returned, or null if that was NONE.
+     * Only the effects spawned from the baseline tick on are decoded.
+     */
+    void decode(ByteBuffer in, NetFrame base) {
+        tick = in.getInt();
+        int baseTick = in.getInt();
+        generation = in.getInt();
+        int ticks = tick - baseTick;
+        score = (int) Varint.getSigned(in);
+
+        if (in.get() == 0) {
+            if (base == null) {
+                throw new IllegalArgumentException("Full frame without player state");
+            }
+            System.arraycopy(base.player, 0, player, 0, player.length);
+        } else {
+            in.get(player);
+        }
+
+        tanks.decode(in, base == null ? null : base.tanks, ticks);
+        bullets.decode(in, base == null ? null : base.bullets, ticks);
+
+        long effects = Varint.get(in);
+        if (effects < 0 || effects > EffectManager.CAPACITY) {
+            throw new IllegalArgumentException("Too many effects: " + effects);
+        }
+        effectCount = (int) effects;
+        for (int i = 0; i < effectCount; i++) {
+            effectFrame[i] = tick - (int) Varint.get(in);
+            effectX[i] = (int) Varint.getSigned(in);
+            effectY[i] = (int) Varint.getSigned(in);
+            effectLarge[i] = in.get() != 0;
+        }
+    }
+
+    /**
+     * Reads the player state of this frame into the player's row.
+     */
+    void readPlayer(Tanks tanks) {
+        playerBuffer.clear();
+        tanks.readState(Tanks.PLAYER, playerBuffer);
+    }
+}
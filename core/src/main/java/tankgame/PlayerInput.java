@@ -0,0 +1,22 @@
+package tankgame;
+
+/**
+ * Bit flags describing which player controls are held down during a single tick.
+ * The simulation only ever sees this plain int mask, so it can be driven by the
+ * keyboard, a recording, a bot or a test without any JavaFX classes.
+ */
+public final class PlayerInput {
+    public static final int NONE  = 0;
+    public static final int UP    = 1;
+    public static final int DOWN  = 1 << 1;
+    public static final int LEFT  = 1 << 2;
+    public static final int RIGHT = 1 << 3;
+    public static final int FIRE  = 1 << 4;
+
+    private PlayerInput() {
+    }
+
+    public static boolean isPressed(int input, int flag) {
+        return (input & flag) != 0;
+    }
+}
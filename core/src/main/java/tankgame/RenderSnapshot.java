@@ -0,0 +1,391 @@
+package tankgame;
+
+import java.util.Arrays;
+
+/**
+ * Copy of everything the renderer needs from one simulation tick.
+ * Written by the simulation thread and then handed to the render thread through
+ * a SnapshotExchange, so the renderer never reads the live GameWorld. All storage
+ * is reused primitive arrays; capturing a tick allocates nothing once the arrays
+ * have grown to the entity counts.
+ *
+ * Tanks and bullets are sorted into coarse buckets of BUCKET_PIXELS on the
+ * simulation thread, so the renderer can visit only the buckets under the camera.
+ */
+public class RenderSnapshot {
+    // Edge length of a culling bucket in pixels; must be larger than any sprite
+    public static final int BUCKET_PIXELS = 256;
+
+    // Increases with every published snapshot; used by the exchange to spot fresh ones
+    volatile long sequence = 0;
+
+    // Identifies the GameWorld this snapshot came from; changes on restart
+    private long generation;
+    private long publishedAt;
+    private int frame;
+    private int score;
+    private int life;
+    private GameMap map;
+
+    private double playerX, playerY, playerPrevX, playerPrevY;
+    private Direction playerDirection = Direction.RIGHT;
+    private int playerAnimationFrame;
+
+    private int bucketRows, bucketCols;
+    private final SpriteList tanks = new SpriteList();
+    private final SpriteList bullets = new SpriteList();
+
+    // Copy of the effect ring
+    private final boolean[] effectActive = new boolean[EffectManager.CAPACITY];
+    private final double[] effectX = new double[EffectManager.CAPACITY];
+    private final double[] effectY = new double[EffectManager.CAPACITY];
+    private final boolean[] effectLarge = new boolean[EffectManager.CAPACITY];
+    private final int[] effectSerial = new int[EffectManager.CAPACITY];
+    private int effectCount;
+
+    // Latest tick phase timings of the world's FrameProfiler, if it is on
+    private boolean profiling;
+    private final long[] phaseP50 = new long[GameWorld.PHASE_NAMES.length];
+    private final long[] phaseP99 = new long[GameWorld.PHASE_NAMES.length];
+    private final long[] phaseMax = new long[GameWorld.PHASE_NAMES.length];
+
+    /**
+     * Copies the state of a world into this snapshot.
+     *
+     * @param gameWorld the world, owned by the calling (simulation) thread
+     * @param generation identifies the world instance
+     * @param now time of the tick in nanoseconds
+     */
+    public void capture(GameWorld gameWorld, long generation, long now) {
+        this.generation = generation;
+        this.publishedAt = now;
+        this.frame = gameWorld.frame;
+        this.score = gameWorld.getScore();
+        this.map = gameWorld.getGameMap();
+
+        Tanks worldTanks = gameWorld.getTanks();
+        int player = Tanks.PLAYER;
+        life = worldTanks.getLife(player);
+        playerX = worldTanks.getX(player);
+        playerY = worldTanks.getY(player);
+        playerPrevX = worldTanks.getPrevX(player);
+        playerPrevY = worldTanks.getPrevY(player);
+        playerDirection = worldTanks.getDirection(player);
+        playerAnimationFrame = worldTanks.getAnimationFrame(player);
+
+        bucketRows = (map.getRows() * GameMap.TILE_SIZE + BUCKET_PIXELS - 1) / BUCKET_PIXELS;
+        bucketCols = (map.getCols() * GameMap.TILE_SIZE + BUCKET_PIXELS - 1) / BUCKET_PIXELS;
+
+        tanks.begin();
+        for (int row = player + 1; row < worldTanks.size(); row++) {
+            double x = worldTanks.getX(row);
+            double y = worldTanks.getY(row);
+            tanks.add(bucketOf(x, y), x, y, worldTanks.getPrevX(row), worldTanks.getPrevY(row),
+                    worldTanks.getDirection(row), worldTanks.getAnimationFrame(row));
+        }
+        tanks.finish();
+
+        BulletPool pool = gameWorld.getBulletManager().getBullets();
+        bullets.begin();
+        for (int slot = 0; slot < pool.size(); slot++) {
+            bullets.add(bucketOf(pool.getX(slot), pool.getY(slot)), pool.getX(slot), pool.getY(slot),
+                    pool.getPrevX(slot), pool.getPrevY(slot), pool.getDirection(slot), 0);
+        }
+        bullets.finish();
+
+        EffectManager effects = gameWorld.getEffects();
+        effectCount = 0;
+        for (int slot = 0; slot < EffectManager.CAPACITY; slot++) {
+            if (effects.isActive(slot)) {
+                effectCount++;
+            }
+            effectActive[slot] = effects.isActive(slot);
+            effectX[slot] = effects.getX(slot);
+            effectY[slot] = effects.getY(slot);
+            effectLarge[slot] = effects.isLarge(slot);
+            effectSerial[slot] = effects.getSerial(slot);
+        }
+
+        FrameProfiler profiler = gameWorld.getProfiler();
+        profiling = profiler.isEnabled();
+        if (profiling) {
+            for (int phase = 0; phase < phaseP50.length; phase++) {
+                phaseP50[phase] = profiler.getP50(phase);
+                phaseP99[phase] = profiler.getP99(phase);
+                phaseMax[phase] = profiler.getMax(phase);
+            }
+        }
+    }
+
+    private int bucketOf(double x, double y) {
+        int row = Math.max(0, Math.min(bucketRows - 1, (int) Math.floor(y / BUCKET_PIXELS)));
+        int col = Math.max(0, Math.min(bucketCols - 1, (int) Math.floor(x / BUCKET_PIXELS)));
+        return row * bucketCols + col;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public long getPublishedAt() {
+        return publishedAt;
+    }
+
+    public int getFrame() {
+        return frame;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLife() {
+        return life;
+    }
+
+    public GameMap getMap() {
+        return map;
+    }
+
+    public double getPlayerX() {
+        return playerX;
+    }
+
+    public double getPlayerY() {
+        return playerY;
+    }
+
+    public double getPlayerPrevX() {
+        return playerPrevX;
+    }
+
+    public double getPlayerPrevY() {
+        return playerPrevY;
+    }
+
+    public Direction getPlayerDirection() {
+        return playerDirection;
+    }
+
+    public int getPlayerAnimationFrame() {
+        return playerAnimationFrame;
+    }
+
+    public int getBucketRows() {
+        return bucketRows;
+    }
+
+    public int getBucketCols() {
+        return bucketCols;
+    }
+
+    public SpriteList getTanks() {
+        return tanks;
+    }
+
+    public SpriteList getBullets() {
+        return bullets;
+    }
+
+    public boolean isEffectActive(int slot) {
+        return effectActive[slot];
+    }
+
+    public double getEffectX(int slot) {
+        return effectX[slot];
+    }
+
+    public double getEffectY(int slot) {
+        return effectY[slot];
+    }
+
+    public boolean isEffectLarge(int slot) {
+        return effectLarge[slot];
+    }
+
+    public int getEffectSerial(int slot) {
+        return effectSerial[slot];
+    }
+
+    /**
+     * Number of live effects.
+     */
+    public int getEffectCount() {
+        return effectCount;
+    }
+
+    /**
+     * Whether the phase timings below were captured (the world's profiler is on).
+     */
+    public boolean isProfiling() {
+        return profiling;
+    }
+
+    /**
+     * Rolling median of a tick phase (GameWorld.PHASE_*) in nanoseconds.
+     */
+    public long getPhaseP50(int phase) {
+        return phaseP50[phase];
+    }
+
+    public long getPhaseP99(int phase) {
+        return phaseP99[phase];
+    }
+
+    public long getPhaseMax(int phase) {
+        return phaseMax[phase];
+    }
+
+    /**
+     * Positions, facing and animation frame of a set of sprites, grouped by bucket.
+     * Entries of bucket b are stored in [bucketStart(b), bucketEnd(b)), and the buckets
+     * follow each other in order, so a run of buckets is one range of entries.
+     * Entities are first staged in arrival order and then radix-sorted by bucket, a
+     * byte of the bucket number per pass, so sorting costs a few passes over the
+     * entities however many buckets the map has; bucketStart() binary-searches.
+     */
+    public static class SpriteList {
+        private static final Direction[] DIRECTIONS = Direction.values();
+        private static final int RADIX_BITS = 8;
+        private static final int RADIX_MASK = (1 << RADIX_BITS) - 1;
+
+        private int count = 0;
+        private double[] x = new double[64], y = new double[64], prevX = new double[64], prevY = new double[64];
+        private byte[] direction = new byte[64], animationFrame = new byte[64];
+
+        // Bucket of each sorted entry, ascending
+        private int[] bucket = new int[64];
+
+        // Arrival-order staging area and the bucket of each staged entry
+        private double[] stageX = new double[64], stageY = new double[64];
+        private double[] stagePrevX = new double[64], stagePrevY = new double[64];
+        private byte[] stageDirection = new byte[64], stageAnimationFrame = new byte[64];
+        private int[] stageBucket = new int[64];
+        private int maxBucket;
+
+        // Staged entries in sorted order, and the scratch space of one radix pass
+        private int[] order = new int[64], orderScratch = new int[64];
+        private final int[] digitStarts = new int[RADIX_MASK + 2];
+
+        void begin() {
+            count = 0;
+            maxBucket = 0;
+        }
+
+        void add(int bucket, double x, double y, double prevX, double prevY, Direction direction, int animationFrame) {
+            if (count == stageX.length) {
+                grow(count * 2);
+            }
+            stageX[count] = x;
+            stageY[count] = y;
+            stagePrevX[count] = prevX;
+            stagePrevY[count] = prevY;
+            stageDirection[count] = (byte) direction.ordinal();
+            stageAnimationFrame[count] = (byte) animationFrame;
+            stageBucket[count] = bucket;
+            maxBucket = Math.max(maxBucket, bucket);
+            count++;
+        }
+
+        void finish() {
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            // Least significant byte first; each pass is a stable counting sort on one byte
+            for (int shift = 0; shift < Integer.SIZE && maxBucket >>> shift != 0; shift += RADIX_BITS) {
+                Arrays.fill(digitStarts, 0);
+                for (int i = 0; i < count; i++) {
+                    digitStarts[(stageBucket[i] >>> shift & RADIX_MASK) + 1]++;
+                }
+                for (int digit = 1; digit < digitStarts.length; digit++) {
+                    digitStarts[digit] += digitStarts[digit - 1];
+                }
+                for (int i = 0; i < count; i++) {
+                    int from = order[i];
+                    orderScratch[digitStarts[stageBucket[from] >>> shift & RADIX_MASK]++] = from;
+                }
+                int[] sorted = orderScratch;
+                orderScratch = order;
+                order = sorted;
+            }
+            for (int to = 0; to < count; to++) {
+                int from = order[to];
+                x[to] = stageX[from];
+                y[to] = stageY[from];
+                prevX[to] = stagePrevX[from];
+                prevY[to] = stagePrevY[from];
+                direction[to] = stageDirection[from];
+                animationFrame[to] = stageAnimationFrame[from];
+                bucket[to] = stageBucket[from];
+            }
+        }
+
+        private void grow(int capacity) {
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            prevX = Arrays.copyOf(prevX, capacity);
+            prevY = Arrays.copyOf(prevY, capacity);
+            direction = Arrays.copyOf(direction, capacity);
+            animationFrame = Arrays.copyOf(animationFrame, capacity);
+            bucket = Arrays.copyOf(bucket, capacity);
+            stageX = Arrays.copyOf(stageX, capacity);
+            stageY = Arrays.copyOf(stageY, capacity);
+            stagePrevX = Arrays.copyOf(stagePrevX, capacity);
+            stagePrevY = Arrays.copyOf(stagePrevY, capacity);
+            stageDirection = Arrays.copyOf(stageDirection, capacity);
+            stageAnimationFrame = Arrays.copyOf(stageAnimationFrame, capacity);
+            stageBucket = Arrays.copyOf(stageBucket, capacity);
+            order = Arrays.copyOf(order, capacity);
+            orderScratch = Arrays.copyOf(orderScratch, capacity);
+        }
+
+        public int size() {
+            return count;
+        }
+
+        /**
+         * Index of the first entry in the bucket or, if it is empty, in a later one.
+         */
+        public int bucketStart(int bucket) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (this.bucket[middle] < bucket) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        public int bucketEnd(int bucket) {
+            return bucketStart(bucket + 1);
+        }
+
+        public double getX(int i) {
+            return x[i];
+        }
+
+        public double getY(int i) {
+            return y[i];
+        }
+
+        public double getPrevX(int i) {
+            return prevX[i];
+        }
+
+        public double getPrevY(int i) {
+            return prevY[i];
+        }
+
+        public Direction getDirection(int i) {
+            return DIRECTIONS[direction[i]];
+        }
+
+        public int getAnimationFrame(int i) {
+            return animationFrame[i];
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package tankgame;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * A session recorded by InputRecorder, played back headless as fast as the CPU allows.
+ * The whole log is decoded up front, so playback is nothing but GameWorld.tick() calls.
+ *
+ * Usage: java -cp core/target/classes tankgame.Replay session.rec [level.lvl]
+ * (pass the level file the session was played on, if any)
+ */
+public class Replay {
+    private final long seed;
+
+    // Decoded runs: input flags held for runLengths[i] ticks
+    private final long[] runLengths;
+    private final int[] runInputs;
+
+    // Outcome written when the recording was closed
+    private final long recordedTicks;
+    private final int recordedScore;
+    private final int recordedLife;
+
+    private Replay(long seed, long[] runLengths, int[] runInputs,
+                   long recordedTicks, int recordedScore, int recordedLife) {
+        this.seed = seed;
+        this.runLengths = runLengths;
+        this.runInputs = runInputs;
+        this.recordedTicks = recordedTicks;
+        this.recordedScore = recordedScore;
+        this.recordedLife = recordedLife;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: Replay <session.rec> [level.lvl]");
+            System.exit(2);
+        }
+        Replay replay = load(Paths.get(args[0]));
+        GameMap map = args.length == 2 ? LevelFile.load(Paths.get(args[1])) : new GameMap();
+
+        long start = System.nanoTime();
+        GameWorld gameWorld = replay.play(map);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int score = gameWorld.getScore();
+        int life = gameWorld.getTanks().getLife(Tanks.PLAYER);
+        System.out.printf("Replayed %d ticks in %.3f s (%.0f ticks/s)%n",
+                replay.getTicks(), seconds, replay.getTicks() / seconds);
+        System.out.printf("Score %d (recorded %d), lives left %d (recorded %d)%n",
+                score, replay.recordedScore, life, replay.recordedLife);
+        if (score != replay.recordedScore || life != replay.recordedLife) {
+            System.out.println("MISMATCH: the replay did not reproduce the recorded session");
+            System.exit(1);
+        }
+        System.out.println("Replay matches the recording");
+    }
+
+    /**
+     * Reads and decodes a recording.
+     *
+     * @throws IOException if the file can't be read or is not a valid recording
+     */
+    public static Replay load(Path path) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (in.getInt() != InputRecorder.MAGIC) {
+                throw new IOException(path + " is not an input recording");
+            }
+            int version = in.get();
+            if (version != InputRecorder.VERSION) {
+                throw new IOException(path + " has unsupported recording version " + version);
+            }
+            long seed = in.getLong();
+
+            long[] runLengths = new long[64];
+            int[] runInputs = new int[64];
+            int runs = 0;
+            long ticks = 0;
+            for (long length = Varint.get(in); length != 0; length = Varint.get(in)) {
+                if (runs == runLengths.length) {
+                    runLengths = Arrays.copyOf(runLengths, runs * 2);
+                    runInputs = Arrays.copyOf(runInputs, runs * 2);
+                }
+                runLengths[runs] = length;
+                runInputs[runs] = in.get() & 0xFF;
+                ticks += length;
+                runs++;
+            }
+
+            long recordedTicks = Varint.get(in);
+            int score = (int) Varint.getSigned(in);
+            int life = (int) Varint.getSigned(in);
+            if (recordedTicks != ticks) {
+                throw new IOException(path + " is corrupt: runs add up to " + ticks
+                        + " ticks, trailer says " + recordedTicks);
+            }
+            return new Replay(seed, Arrays.copyOf(runLengths, runs),
+                    Arrays.copyOf(runInputs, runs), recordedTicks, score, life);
+        } catch (BufferUnderflowException e) {
+            throw new IOException(path + " is truncated", e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(path + " is corrupt", e);
+        }
+    }
+
+    /**
+     * Creates a world with the recorded seed on the given map and runs every recorded tick.
+     */
+    public GameWorld play(GameMap map) {
+        GameWorld gameWorld = new GameWorld(seed, map);
+        for (int run = 0; run < runLengths.length; run++) {
+            int input = runInputs[run];
+            for (long tick = 0; tick < runLengths[run]; tick++) {
+                gameWorld.tick(input);
+            }
+        }
+        return gameWorld;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getTicks() {
+        return recordedTicks;
+    }
+
+    public int getRecordedScore() {
+        return recordedScore;
+    }
+
+    public int getRecordedLife() {
+        return recordedLife;
+    }
+}
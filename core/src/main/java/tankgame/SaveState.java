@@ -0,0 +1,105 @@
+package tankgame;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A snapshot of a whole GameWorld in a reusable direct ByteBuffer, cheap enough to
+ * take every tick for rewind or rollback. Every class writes its own fields in a
+ * fixed order with absolute-size primitives; there is no serialization framework
+ * and no reflection. The map is not included: restore into a world on the same map.
+ *
+ * Layout (little-endian):
+ * <pre>
+ * magic "TSAV" (4), format version (4)
+ * frame (4), score (4), world random state (8), next enemy id (4)
+ * tanks:   count (4), then per tank (the player first) id (4), type (1), x, y, prevX, prevY (8 each),
+ *          direction (1), life, animation counter, last shot (4 each), random state (8)
+ * bullets: next id, count (4 each), then per bullet id (4), x, y, prevX, prevY (8 each),
+ *          direction, owner (1 each)
+ * effects: ring head, count (4 each), then per effect x, y (8 each), large (1), expiry frame (4)
+ * </pre>
+ */
+public class SaveState {
+    static final int MAGIC = 'T' | 'S' << 8 | 'A' << 16 | 'V' << 24;
+    static final int VERSION = 2;
+    private static final int HEADER_BYTES = 8;
+
+    private ByteBuffer buffer;
+
+    /**
+     * Creates an empty save state with room for a small world; it grows on demand.
+     */
+    public SaveState() {
+        this(64 * 1024);
+    }
+
+    public SaveState(int capacity) {
+        buffer = allocate(capacity);
+        buffer.limit(0);
+    }
+
+    /**
+     * Overwrites this save state with the current state of the world.
+     * Only reallocates when the world outgrew the buffer.
+     */
+    public void capture(GameWorld gameWorld) {
+        int needed = HEADER_BYTES + gameWorld.stateBytes();
+        if (buffer.capacity() < needed) {
+            buffer = allocate(Math.max(needed, buffer.capacity() * 2));
+        }
+        buffer.clear();
+        buffer.putInt(MAGIC).putInt(VERSION);
+        gameWorld.writeState(buffer);
+        buffer.flip();
+    }
+
+    /**
+     * Puts the world back into the captured state.
+     *
+     * @throws IllegalStateException if nothing was captured or loaded yet, or the
+     *                               data is not a save state of this version
+     */
+    public void restore(GameWorld gameWorld) {
+        if (buffer.limit() == 0) {
+            throw new IllegalStateException("Nothing has been captured");
+        }
+        buffer.rewind();
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IllegalStateException("Not a save state of version " + VERSION);
+        }
+        gameWorld.readState(buffer);
+        buffer.rewind();
+    }
+
+    /**
+     * Replaces the captured bytes with ones from elsewhere, e.g. a file or the network.
+     * Reads the source from its position to its limit.
+     */
+    public void load(ByteBuffer source) {
+        if (buffer.capacity() < source.remaining()) {
+            buffer = allocate(source.remaining());
+        }
+        buffer.clear();
+        buffer.put(source.duplicate());
+        buffer.flip();
+    }
+
+    /**
+     * Read-only view of the captured bytes, e.g. to store or send them.
+     */
+    public ByteBuffer getBytes() {
+        return buffer.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Number of bytes captured.
+     */
+    public int size() {
+        return buffer.limit();
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
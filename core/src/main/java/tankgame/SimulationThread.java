@@ -0,0 +1,335 @@
+package tankgame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Runs the GameWorld on its own thread at a fixed tick rate.
+ * The render thread only talks to it through volatile fields (input, pause, restart)
+ * and reads the state back through the SnapshotExchange, so a slow tick never stalls
+ * rendering or input handling and no locks are taken on either side.
+ */
+public class SimulationThread implements Runnable {
+    private final FixedTimestep timestep = new FixedTimestep(GameWorld.TICKS_PER_SECOND, 5);
+    private final SnapshotExchange snapshots = new SnapshotExchange();
+
+    // Creates the world at start and on every restart
+    private final Supplier<GameWorld> worlds;
+
+    // Replica of a server's world to follow instead of simulating one, or null
+    private final GameClient client;
+
+    // Stress test to run flat out instead of ticking at the fixed rate, or null
+    private final StressTest stressTest;
+
+    // Written by the render thread, read by the simulation thread
+    private volatile int input = PlayerInput.NONE;
+    private volatile boolean paused = false;
+    private volatile boolean running = false;
+    private final AtomicBoolean restartRequested = new AtomicBoolean(false);
+
+    // Times the ticks of every world this thread runs, so the timings survive restarts
+    private final FrameProfiler profiler = new FrameProfiler(GameWorld.PHASE_NAMES);
+
+    // Owned by the simulation thread
+    private GameWorld gameWorld;
+    private long generation = 0;
+
+    // Directory every world is recorded into, or null; the recorder of the current world
+    private Path recordingDirectory;
+    private InputRecorder recorder;
+
+    // Series every tick's duration is logged into, or null
+    private HistogramLog.Series tickLog;
+
+    private Thread thread;
+
+    /**
+     * Simulates worlds on the default map.
+     */
+    public SimulationThread() {
+        this(GameWorld::new);
+    }
+
+    /**
+     * Simulates the worlds made by the given factory, e.g. ones on a loaded level.
+     */
+    public SimulationThread(Supplier<GameWorld> worlds) {
+        this.worlds = worlds;
+        this.client = null;
+        this.stressTest = null;
+    }
+
+    /**
+     * Follows a GameServer through the client instead of simulating locally: every tick
+     * sends the input and publishes the client's replica world. Pausing only stops the
+     * input, since the server's world keeps running; recording is not supported.
+     */
+    public SimulationThread(GameClient client) {
+        this.worlds = null;
+        this.client = client;
+        this.stressTest = null;
+    }
+
+    /**
+     * Runs a stress test: ticks its world as fast as possible, with its bot as the
+     * player, and publishes a snapshot once per tick period for the renderer. When
+     * the test is finished its report is printed and the thread stops ticking.
+     * A restart starts the test over.
+     */
+    public SimulationThread(StressTest stressTest) {
+        this.worlds = stressTest::createWorld;
+        this.client = null;
+        this.stressTest = stressTest;
+    }
+
+    /**
+     * Creates the first world, publishes its initial snapshot and starts ticking.
+     */
+    public void start() {
+        gameWorld = client != null ? client.getWorld() : worlds.get();
+        gameWorld.setProfiler(profiler);
+        startRecording();
+        publish();
+        running = true;
+        thread = new Thread(this, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops ticking and waits for the thread to finish, so the current recording is complete.
+     */
+    public void stop() {
+        running = false;
+        if (thread != null && thread != Thread.currentThread()) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Records every world played from now on (the seed and each tick's input) into
+     * its own session-&lt;seed&gt;.rec file in the directory; call before start().
+     */
+    public void recordTo(Path directory) {
+        this.recordingDirectory = directory;
+    }
+
+    /**
+     * Logs the duration of every tick into the series (e.g. a HistogramLog's "tick"):
+     * of the local world, of a stress test (top-up and bot included) or of the client
+     * (sending input and decoding snapshots included); call before start(). The last
+     * partial interval is handed over when the thread stops.
+     */
+    public void logTicksTo(HistogramLog.Series series) {
+        this.tickLog = series;
+    }
+
+    @Override
+    public void run() {
+        if (client != null) {
+            runClient();
+        } else if (stressTest != null) {
+            runStressTest();
+        } else {
+            runLocal();
+        }
+        if (tickLog != null) {
+            tickLog.finish(System.nanoTime());
+        }
+    }
+
+    private void runLocal() {
+        while (running) {
+            if (restartRequested.getAndSet(false)) {
+                stopRecording();
+                gameWorld = worlds.get();
+                gameWorld.setProfiler(profiler);
+                startRecording();
+                generation++;
+                timestep.reset();
+                publish();
+            }
+
+            if (paused) {
+                // Time spent paused must not be caught up afterwards
+                timestep.reset();
+                LockSupport.parkNanos(timestep.getStepNanos());
+                continue;
+            }
+
+            int steps = timestep.advance(System.nanoTime());
+            if (steps > 0) {
+                int tickInput = input;
+                for (int step = 0; step < steps; step++) {
+                    long tickStart = startTick();
+                    gameWorld.tick(tickInput);
+                    logTick(tickStart);
+                    record(tickInput);
+                }
+                publish();
+            }
+            LockSupport.parkNanos(timestep.nanosUntilNextStep());
+        }
+        stopRecording();
+    }
+
+    private void runStressTest() {
+        long lastPublish = System.nanoTime();
+        while (running && !stressTest.isFinished()) {
+            if (restartRequested.getAndSet(false)) {
+                gameWorld = worlds.get();
+                gameWorld.setProfiler(profiler);
+                generation++;
+                publish();
+            }
+            if (paused) {
+                LockSupport.parkNanos(timestep.getStepNanos());
+                continue;
+            }
+            long tickStart = startTick();
+            stressTest.tick(gameWorld);
+            logTick(tickStart);
+
+            // Snapshots are only taken as often as they could be shown
+            long now = System.nanoTime();
+            if (now - lastPublish >= timestep.getStepNanos()) {
+                lastPublish = now;
+                publish();
+            }
+        }
+        if (stressTest.isFinished()) {
+            publish();
+            System.out.print(stressTest.report());
+        }
+    }
+
+    private void runClient() {
+        while (running) {
+            if (restartRequested.getAndSet(false)) {
+                client.requestRestart();
+            }
+            int steps = timestep.advance(System.nanoTime());
+            if (steps > 0) {
+                try {
+                    for (int step = 0; step < steps; step++) {
+                        long tickStart = startTick();
+                        client.tick(paused ? PlayerInput.NONE : input);
+                        logTick(tickStart);
+                    }
+                } catch (IOException e) {
+                    System.err.println("Disconnected from the server: " + e.getMessage());
+                    running = false;
+                    break;
+                }
+                gameWorld = client.getWorld();
+                generation = client.getGeneration();
+                publish();
+            }
+            LockSupport.parkNanos(timestep.nanosUntilNextStep());
+        }
+        try {
+            client.close();
+        } catch (IOException e) {
+            // Closing anyway
+        }
+    }
+
+    /**
+     * Start time of a tick for logTick(), or 0 when ticks are not logged.
+     */
+    private long startTick() {
+        return tickLog != null ? System.nanoTime() : 0;
+    }
+
+    private void logTick(long tickStart) {
+        if (tickLog != null) {
+            long tickEnd = System.nanoTime();
+            tickLog.record(tickEnd, tickEnd - tickStart);
+        }
+    }
+
+    private void startRecording() {
+        if (recordingDirectory == null || client != null) {
+            return;
+        }
+        Path file = recordingDirectory.resolve("session-" + gameWorld.getSeed() + ".rec");
+        try {
+            recorder = new InputRecorder(file, gameWorld.getSeed());
+        } catch (IOException e) {
+            System.err.println("Could not record to " + file + ": " + e);
+        }
+    }
+
+    private void record(int tickInput) {
+        if (recorder == null) {
+            return;
+        }
+        try {
+            recorder.record(tickInput);
+        } catch (IOException e) {
+            System.err.println("Recording stopped: " + e);
+            recorder = null;
+        }
+    }
+
+    private void stopRecording() {
+        if (recorder == null) {
+            return;
+        }
+        try {
+            recorder.close(gameWorld);
+        } catch (IOException e) {
+            System.err.println("Could not finish the recording: " + e);
+        }
+        recorder = null;
+    }
+
+    private void publish() {
+        snapshots.back().capture(gameWorld, generation, System.nanoTime());
+        snapshots.publish();
+    }
+
+    /**
+     * Returns the newest snapshot; only call this from the render thread.
+     */
+    public RenderSnapshot latestSnapshot() {
+        return snapshots.latest();
+    }
+
+    public void setInput(int input) {
+        this.input = input;
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    /**
+     * Asks the simulation to replace the world with a new one before its next tick.
+     * The new world shows up as a snapshot with a different generation.
+     */
+    public void requestRestart() {
+        restartRequested.set(true);
+    }
+
+    /**
+     * The profiler timing the phases of every tick; off until turned on.
+     * Its timings reach the render thread through the snapshots.
+     */
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    public long getStepNanos() {
+        return timestep.getStepNanos();
+    }
+}
@@ -0,0 +1,46 @@
+package tankgame;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free hand-off of RenderSnapshots from the simulation thread to the render thread.
+ * The writer fills its back buffer and swaps it into the shared "ready" slot; the reader
+ * swaps its front buffer with "ready" whenever that holds a newer snapshot. With three
+ * buffers the writer never touches the snapshot being drawn and neither side waits.
+ */
+public class SnapshotExchange {
+    private final AtomicReference<RenderSnapshot> ready = new AtomicReference<>(new RenderSnapshot());
+
+    // Owned by the simulation thread
+    private RenderSnapshot back = new RenderSnapshot();
+    private long sequence = 0;
+
+    // Owned by the render thread
+    private RenderSnapshot front = new RenderSnapshot();
+
+    /**
+     * Returns the buffer the simulation thread should capture the next tick into.
+     */
+    public RenderSnapshot back() {
+        return back;
+    }
+
+    /**
+     * Publishes the back buffer and takes the previous ready buffer as the new back buffer.
+     */
+    public void publish() {
+        back.sequence = ++sequence;
+        back = ready.getAndSet(back);
+    }
+
+    /**
+     * Returns the newest published snapshot. The returned object stays untouched by the
+     * simulation until the next call from the render thread.
+     */
+    public RenderSnapshot latest() {
+        if (ready.get().sequence > front.sequence) {
+            front = ready.getAndSet(front);
+        }
+        return front;
+    }
+}
@@ -0,0 +1,169 @@
+package tankgame;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid over the map tiles used as a broadphase for bullet-vs-tank hits.
+ * Every enemy tank is linked into the cell of the tile under its top-left corner.
+ * Tanks are identified by their row in Tanks, and the cell lists are linked through
+ * per-row int arrays, so moving a tank between cells is O(1) and allocates nothing.
+ */
+public class SpatialGrid {
+    // Ends a cell list
+    public static final int NONE = -1;
+
+    private final int rows, cols;
+
+    // First tank row of each cell, indexed by row * cols + col
+    private final int[] cells;
+
+    // Per tank row: its cell (NONE when not in the grid) and its neighbours in that cell
+    private int[] cellOf = new int[0];
+    private int[] prevInCell = new int[0];
+    private int[] nextInCell = new int[0];
+
+    public SpatialGrid(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.cells = new int[rows * cols];
+        Arrays.fill(cells, NONE);
+    }
+
+    /**
+     * Links a tank row into the cell under the given position.
+     */
+    public void insert(int tank, double x, double y) {
+        ensureCapacity(tank + 1);
+        if (cellOf[tank] != NONE) {
+            return;
+        }
+        link(tank, cellOf(x, y));
+    }
+
+    /**
+     * Unlinks a tank row from the grid. Removing a tank twice is harmless.
+     */
+    public void remove(int tank) {
+        if (tank >= cellOf.length || cellOf[tank] == NONE) {
+            return;
+        }
+        unlink(tank);
+    }
+
+    /**
+     * Moves a tank to a new cell if its position crossed a tile boundary.
+     * Tanks that were never inserted are left alone.
+     */
+    public void update(int tank, double x, double y) {
+        if (tank >= cellOf.length || cellOf[tank] == NONE) {
+            return;
+        }
+        int cell = cellOf(x, y);
+        if (cell != cellOf[tank]) {
+            unlink(tank);
+            link(tank, cell);
+        }
+    }
+
+    /**
+     * Renumbers a tank that moved from one row to another (when Tanks compacts).
+     * The target row must not be in the grid.
+     */
+    public void move(int from, int to) {
+        if (from >= cellOf.length || cellOf[from] == NONE) {
+            return;
+        }
+        int prev = prevInCell[from];
+        int next = nextInCell[from];
+        if (prev != NONE) {
+            nextInCell[prev] = to;
+        } else {
+            cells[cellOf[from]] = to;
+        }
+        if (next != NONE) {
+            prevInCell[next] = to;
+        }
+        cellOf[to] = cellOf[from];
+        prevInCell[to] = prev;
+        nextInCell[to] = next;
+        cellOf[from] = NONE;
+        prevInCell[from] = NONE;
+        nextInCell[from] = NONE;
+    }
+
+    public void clear() {
+        Arrays.fill(cells, NONE);
+        Arrays.fill(cellOf, NONE);
+        Arrays.fill(prevInCell, NONE);
+        Arrays.fill(nextInCell, NONE);
+    }
+
+    /**
+     * Returns the first tank row anchored in the given tile, or NONE; follow next() for the rest.
+     */
+    public int head(int row, int col) {
+        return cells[row * cols + col];
+    }
+
+    /**
+     * Returns the tank row after the given one in its cell, or NONE.
+     */
+    public int next(int tank) {
+        return nextInCell[tank];
+    }
+
+    public int clampRow(int row) {
+        return Math.max(0, Math.min(rows - 1, row));
+    }
+
+    public int clampCol(int col) {
+        return Math.max(0, Math.min(cols - 1, col));
+    }
+
+    private int cellOf(double x, double y) {
+        int row = clampRow((int) Math.floor(y / GameMap.TILE_SIZE));
+        int col = clampCol((int) Math.floor(x / GameMap.TILE_SIZE));
+        return row * cols + col;
+    }
+
+    private void link(int tank, int cell) {
+        int head = cells[cell];
+        cellOf[tank] = cell;
+        prevInCell[tank] = NONE;
+        nextInCell[tank] = head;
+        if (head != NONE) {
+            prevInCell[head] = tank;
+        }
+        cells[cell] = tank;
+    }
+
+    private void unlink(int tank) {
+        int prev = prevInCell[tank];
+        int next = nextInCell[tank];
+        if (prev != NONE) {
+            nextInCell[prev] = next;
+        } else {
+            cells[cellOf[tank]] = next;
+        }
+        if (next != NONE) {
+            prevInCell[next] = prev;
+        }
+        cellOf[tank] = NONE;
+        prevInCell[tank] = NONE;
+        nextInCell[tank] = NONE;
+    }
+
+    private void ensureCapacity(int tanks) {
+        if (tanks <= cellOf.length) {
+            return;
+        }
+        int old = cellOf.length;
+        int capacity = Math.max(tanks, Math.max(64, old * 2));
+        cellOf = Arrays.copyOf(cellOf, capacity);
+        prevInCell = Arrays.copyOf(prevInCell, capacity);
+        nextInCell = Arrays.copyOf(nextInCell, capacity);
+        Arrays.fill(cellOf, old, capacity, NONE);
+        Arrays.fill(prevInCell, old, capacity, NONE);
+        Arrays.fill(nextInCell, old, capacity, NONE);
+    }
+}
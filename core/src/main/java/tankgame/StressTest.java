@@ -0,0 +1,348 @@
+package tankgame;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Stress-test mode: a world held at a fixed load of enemy tanks and bullets, with the
+ * player driven by a BotPlayer, ticked as fast as it goes for a fixed number of ticks.
+ * At the end it reports ticks per second, tick time percentiles and peak heap, which
+ * shows the entity count the engine stops keeping up at and whether a change helps.
+ *
+ * Before every tick the world is topped back up to the configured enemies and bullets
+ * and the player gets its lives back, so the load stays put; enemies spawning at the
+ * configured rate come on top of it. The first warm-up ticks let the JIT settle and
+ * are not measured. Runs headless through main(), or rendered through
+ * Main's --stress=&lt;options&gt;.
+ */
+public class StressTest {
+    static final String USAGE = "Usage: StressTest [enemies=N] [bullets=N] [spawn-every=TICKS] [ticks=N]"
+            + " [warmup=TICKS] [threads=N] [seed=N] [level.lvl]";
+
+    static final int DEFAULT_ENEMIES = 1000;
+    static final int DEFAULT_BULLETS = 1000;
+    static final int DEFAULT_TICKS = 3600;
+    static final int DEFAULT_WARMUP = 600;
+
+    // Attempts at finding a free spot for an entity before leaving it where it is
+    private static final int PLACEMENT_ATTEMPTS = 64;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private int enemies = DEFAULT_ENEMIES;
+    private int bullets = DEFAULT_BULLETS;
+    private int spawnInterval = GameWorld.DEFAULT_SPAWN_INTERVAL;
+    private int ticks = DEFAULT_TICKS;
+    private int warmup = DEFAULT_WARMUP;
+    private int threads = 1;
+    private long seed = 42;
+
+    // Map of every world, or null for a new default map per world
+    private final GameMap map;
+
+    private BotPlayer bot;
+    private GameRandom random;
+    private ForkJoinPool pool;
+
+    // Durations of the measured GameWorld.tick() calls
+    private final Histogram tickTimes = new Histogram(FrameProfiler.HIGHEST_NANOS, 3);
+
+    // Ticks run so far, including warm-up; time spent in the measured ticks, topping up included
+    private int ticked = 0;
+    private long busyNanos = 0;
+    private long gcCountAtStart, gcMillisAtStart;
+    private volatile boolean finished = false;
+
+    // Load at the end of the run
+    private int finalEnemies, finalBullets;
+
+    private StressTest(GameMap map) {
+        this.map = map;
+    }
+
+    /**
+     * Runs a stress test headless and prints its report.
+     */
+    public static void main(String[] args) throws IOException {
+        List<String> options = new ArrayList<>();
+        GameMap level = null;
+        for (String arg : args) {
+            if (arg.indexOf('=') >= 0) {
+                options.add(arg);
+            } else if (level == null) {
+                level = LevelFile.load(Paths.get(arg));
+            } else {
+                System.err.println(USAGE);
+                System.exit(2);
+            }
+        }
+
+        StressTest test;
+        try {
+            test = parse(options, level);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        GameWorld gameWorld = test.createWorld();
+        while (!test.isFinished()) {
+            test.tick(gameWorld);
+        }
+        System.out.print(test.report());
+    }
+
+    /**
+     * Creates a stress test from name=value options (enemies, bullets, spawn-every,
+     * ticks, warmup, threads, seed); anything not given keeps its default.
+     *
+     * @param map the map to play on, or null for the default map
+     * @throws IllegalArgumentException for unknown options or invalid values
+     */
+    public static StressTest parse(List<String> options, GameMap map) {
+        StressTest test = new StressTest(map);
+        for (String option : options) {
+            int equals = option.indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Expected name=value: " + option);
+            }
+            String name = option.substring(0, equals);
+            String value = option.substring(equals + 1);
+            switch (name) {
+                case "enemies":
+                    test.enemies = parseCount(name, value);
+                    break;
+                case "bullets":
+                    test.bullets = parseCount(name, value);
+                    break;
+                case "spawn-every":
+                    test.spawnInterval = parseCount(name, value);
+                    break;
+                case "ticks":
+                    test.ticks = parseCount(name, value);
+                    break;
+                case "warmup":
+                    test.warmup = parseCount(name, value);
+                    break;
+                case "threads":
+                    test.threads = Math.max(1, parseCount(name, value));
+                    break;
+                case "seed":
+                    test.seed = Long.parseLong(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + name);
+            }
+        }
+        return test;
+    }
+
+    private static int parseCount(String name, String value) {
+        int count;
+        try {
+            count = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number: " + value);
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException(name + " must not be negative: " + value);
+        }
+        return count;
+    }
+
+    /**
+     * Creates the world to run the test on, already filled up to the configured load.
+     * Calling it again starts the test over.
+     */
+    public GameWorld createWorld() {
+        GameWorld gameWorld = new GameWorld(seed, map != null ? map : new GameMap());
+        gameWorld.setSpawnInterval(spawnInterval);
+        if (threads > 1) {
+            if (pool == null) {
+                pool = new ForkJoinPool(threads);
+            }
+            gameWorld.getEnemyUpdater().setPool(pool);
+        }
+        bot = new BotPlayer(seed);
+        random = new GameRandom(seed ^ 0x5DEECE66DL);
+        tickTimes.reset();
+        ticked = 0;
+        busyNanos = 0;
+        finished = false;
+        topUp(gameWorld);
+        return gameWorld;
+    }
+
+    /**
+     * Tops the world up, lets the bot choose the input and runs one tick of the world;
+     * only the thread running the world may call it.
+     */
+    public void tick(GameWorld gameWorld) {
+        if (finished) {
+            return;
+        }
+        if (ticked == warmup) {
+            startMeasuring();
+        }
+        long start = System.nanoTime();
+        topUp(gameWorld);
+        int input = bot.nextInput(gameWorld);
+
+        long tickStart = System.nanoTime();
+        gameWorld.tick(input);
+        long end = System.nanoTime();
+
+        if (ticked++ >= warmup) {
+            tickTimes.record(end - tickStart);
+            busyNanos += end - start;
+        }
+        if (ticked >= warmup + ticks) {
+            finalEnemies = gameWorld.getEnemyCount();
+            finalBullets = gameWorld.getBulletManager().getBullets().size();
+            finished = true;
+        }
+    }
+
+    /**
+     * True once all warm-up and measured ticks have run; safe to ask from any thread.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Throughput, tick time percentiles, final load, peak heap and garbage collections
+     * of the measured ticks, as printable lines.
+     */
+    public String report() {
+        long gcCount = -gcCountAtStart, gcMillis = -gcMillisAtStart;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, collector.getCollectionCount());
+            gcMillis += Math.max(0, collector.getCollectionTime());
+        }
+        long measured = tickTimes.getTotalCount();
+        double seconds = busyNanos / 1e9;
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.US,
+                "Stress test: %d enemies, %d bullets, spawn every %d ticks, %d thread(s), seed %d%n",
+                enemies, bullets, spawnInterval, threads, seed));
+        report.append(String.format(Locale.US,
+                "%d ticks (after %d warm-up) in %.3f s: %.1f ticks/s (%d needed for real time)%n",
+                measured, Math.min(warmup, ticked), seconds, seconds > 0 ? measured / seconds : 0.0,
+                GameWorld.TICKS_PER_SECOND));
+        report.append(String.format(Locale.US,
+                "Tick time (ms): p50 %.3f  p90 %.3f  p99 %.3f  p99.9 %.3f  max %.3f%n",
+                tickTimes.getValueAtPercentile(50) / 1e6, tickTimes.getValueAtPercentile(90) / 1e6,
+                tickTimes.getValueAtPercentile(99) / 1e6, tickTimes.getValueAtPercentile(99.9) / 1e6,
+                tickTimes.getMaxValue() / 1e6));
+        report.append(String.format(Locale.US, "At the end: %d enemies, %d bullets%n", finalEnemies, finalBullets));
+        report.append(String.format(Locale.US, "Peak heap: %.1f MB, %d GCs taking %d ms%n",
+                peakHeapBytes() / (1024.0 * 1024.0), gcCount, gcMillis));
+        return report.toString();
+    }
+
+    /**
+     * Starts the measured part: resets the heap peaks and notes the GC counters.
+     */
+    private void startMeasuring() {
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (memoryPool.getType() == MemoryType.HEAP) {
+                memoryPool.resetPeakUsage();
+            }
+        }
+        gcCountAtStart = 0;
+        gcMillisAtStart = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCountAtStart += Math.max(0, collector.getCollectionCount());
+            gcMillisAtStart += Math.max(0, collector.getCollectionTime());
+        }
+    }
+
+    /**
+     * Sum of the heap pools' peak usage since the measured part started.
+     */
+    private static long peakHeapBytes() {
+        long bytes = 0;
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (memoryPool.getType() == MemoryType.HEAP) {
+                bytes += memoryPool.getPeakUsage().getUsed();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Brings the world back to the configured enemies and bullets, each placed on a
+     * free spot, and keeps the player alive.
+     */
+    private void topUp(GameWorld gameWorld) {
+        Tanks tanks = gameWorld.getTanks();
+        GameMap gameMap = gameWorld.getGameMap();
+        while (gameWorld.getEnemyCount() < enemies) {
+            int row = gameWorld.spawnEnemy();
+            int cell = freeCell(gameMap, 3);
+            if (cell >= 0) {
+                tanks.setPosition(row, cell % gameMap.getCols() * GameMap.TILE_SIZE,
+                        cell / gameMap.getCols() * GameMap.TILE_SIZE);
+            }
+        }
+
+        BulletManager bulletManager = gameWorld.getBulletManager();
+        while (bulletManager.getBullets().size() < bullets) {
+            int cell = freeCell(gameMap, 1);
+            if (cell < 0) {
+                break;
+            }
+            Direction direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+            byte team = random.nextBoolean() ? BulletPool.PLAYER : BulletPool.ENEMY;
+            bulletManager.createNewBullet(team, direction,
+                    cell % gameMap.getCols() * GameMap.TILE_SIZE + GameMap.TILE_SIZE / 2,
+                    cell / gameMap.getCols() * GameMap.TILE_SIZE + GameMap.TILE_SIZE / 2);
+        }
+
+        if (tanks.getLife(Tanks.PLAYER) < TankType.PLAYER.life) {
+            tanks.setLife(Tanks.PLAYER, TankType.PLAYER.life);
+        }
+    }
+
+    /**
+     * Index (row * cols + col) of a random tile whose size x size block has no walls,
+     * or -1 if none was found.
+     */
+    private int freeCell(GameMap gameMap, int size) {
+        int rows = gameMap.getRows() - size - 1;
+        int cols = gameMap.getCols() - size - 1;
+        if (rows <= 0 || cols <= 0) {
+            return -1;
+        }
+        for (int attempt = 0; attempt < PLACEMENT_ATTEMPTS; attempt++) {
+            int row = 1 + random.nextInt(rows);
+            int col = 1 + random.nextInt(cols);
+            if (isClear(gameMap, row, col, size)) {
+                return row * gameMap.getCols() + col;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isClear(GameMap gameMap, int row, int col, int size) {
+        for (int r = row; r < row + size; r++) {
+            for (int c = col; c < col + size; c++) {
+                if (gameMap.isWall(r, c)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
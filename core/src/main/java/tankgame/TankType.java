@@ -0,0 +1,110 @@
+package tankgame;
+
+import java.util.ArrayList;
+
+/**
+ * Everything that is the same for all tanks of one kind: speed, wall probes, hitbox,
+ * team, weapon, lives and whether the AI drives it. The systems read these values
+ * instead of branching on a class, so a new kind of unit is a new TankType, not a
+ * new class. Types register themselves and are saved by their id.
+ */
+public final class TankType {
+    private static final ArrayList<TankType> TYPES = new ArrayList<>();
+
+    /**
+     * The player's tank: driven by input, respawns at the player spawn when hit.
+     * Its right-edge probes sit slightly lower than the enemies', as they always have.
+     */
+    public static final TankType PLAYER = new TankType(BulletPool.PLAYER, false, 2.0,
+            new int[] {
+                    // RIGHT: 3 points along the right edge
+                    32, 32, 32, 8, 32, 23,
+                    // LEFT: 3 points along the left edge
+                    0, 32, 0, 0, 0, 16,
+                    // UP: 3 points just above the top edge
+                    0, -1, 16, -1, 32, -1,
+                    // DOWN: 3 points along the bottom edge
+                    0, 32, 16, 32, 32, 32
+            },
+            11, -300, 3, true, 0);
+
+    /**
+     * An enemy tank: chases the player, dies from one hit and is worth 100 points.
+     */
+    public static final TankType ENEMY = new TankType(BulletPool.ENEMY, true, 2.0,
+            new int[] {
+                    32, 32, 32, 0, 32, 16,
+                    0, 32, 0, 0, 0, 16,
+                    0, -1, 16, -1, 32, -1,
+                    0, 32, 16, 32, 32, 32
+            },
+            60, 0, 1, false, 100);
+
+    // Points probed for walls after a move, per direction ordinal: 3 (x, y) offsets from the top-left corner
+    static final int PROBES = 3;
+
+    final byte id;
+    final byte team;
+    final boolean ai;
+    final double speed;
+    final int[] probes;
+    final int fireCooldown;
+    final int initialLastShot;
+    final int life;
+    final boolean respawns;
+    final int score;
+
+    /**
+     * @param team            BulletPool.PLAYER or BulletPool.ENEMY; bullets only hit the other team
+     * @param ai              whether the enemy AI drives the tank (otherwise the player's input does)
+     * @param speed           pixels moved per tick
+     * @param probes          wall probe offsets, see PROBES
+     * @param fireCooldown    least number of ticks between two shots
+     * @param initialLastShot frame a new tank counts as having last fired
+     * @param life            hits the tank takes
+     * @param respawns        whether a hit sends it back to the player spawn instead of destroying it
+     * @param score           points for destroying it
+     */
+    public TankType(byte team, boolean ai, double speed, int[] probes, int fireCooldown,
+                    int initialLastShot, int life, boolean respawns, int score) {
+        if (probes.length != Direction.values().length * PROBES * 2) {
+            throw new IllegalArgumentException("Expected " + PROBES + " probes per direction");
+        }
+        synchronized (TYPES) {
+            if (TYPES.size() > Byte.MAX_VALUE) {
+                throw new IllegalStateException("Too many tank types");
+            }
+            this.id = (byte) TYPES.size();
+            TYPES.add(this);
+        }
+        this.team = team;
+        this.ai = ai;
+        this.speed = speed;
+        this.probes = probes.clone();
+        this.fireCooldown = fireCooldown;
+        this.initialLastShot = initialLastShot;
+        this.life = life;
+        this.respawns = respawns;
+        this.score = score;
+    }
+
+    /**
+     * Looks up a type by the id save states and snapshots store.
+     */
+    static TankType byId(int id) {
+        synchronized (TYPES) {
+            if (id < 0 || id >= TYPES.size()) {
+                throw new IllegalArgumentException("Unknown tank type " + id);
+            }
+            return TYPES.get(id);
+        }
+    }
+
+    public byte getTeam() {
+        return team;
+    }
+
+    public boolean hasAi() {
+        return ai;
+    }
+}
@@ -0,0 +1,355 @@
+package tankgame;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Component storage for every tank in the world: one packed array per component,
+ * indexed by row. Row {@link #PLAYER} is always the player's tank and rows after it
+ * are enemies in order of creation. The systems (InputSystem, AiSystem,
+ * MovementSystem, FiringSystem and the collision pass in BulletManager) read and
+ * write these arrays directly in linear loops; what differs between kinds of tank
+ * lives in the row's TankType.
+ *
+ * Tanks destroyed during a pass are only flagged dead and are removed by
+ * {@link #compact()}, which keeps the order of the survivors and renumbers them
+ * in the SpatialGrid. The arrays only grow, and the per-row random generators are
+ * reused, so adding and removing tanks creates no garbage once warmed up.
+ */
+public class Tanks {
+    // Row of the player's tank
+    public static final int PLAYER = 0;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Enemy rows are kept in this grid (the player is not: only enemy bullets hit it)
+    private final SpatialGrid grid;
+
+    int size = 0;
+    private int deadCount = 0;
+
+    // Identity and kind
+    int[] id;
+    TankType[] type;
+    boolean[] alive;
+
+    // Position, and position at the start of the last tick for render interpolation
+    double[] x, y, prevX, prevY;
+
+    // Facing, as a Direction ordinal
+    byte[] direction;
+
+    int[] life;
+
+    // Ticks the tank has been moving, for the two-frame sprite animation
+    int[] animation;
+
+    // Weapon: frame of the last shot, and whether the tank decided to shoot this tick
+    int[] lastShot;
+    boolean[] fireIntent;
+
+    // Each tank has its own generator, so tanks can plan in any order or in parallel
+    GameRandom[] random;
+
+    public Tanks(SpatialGrid grid) {
+        this.grid = grid;
+        id = new int[INITIAL_CAPACITY];
+        type = new TankType[INITIAL_CAPACITY];
+        alive = new boolean[INITIAL_CAPACITY];
+        x = new double[INITIAL_CAPACITY];
+        y = new double[INITIAL_CAPACITY];
+        prevX = new double[INITIAL_CAPACITY];
+        prevY = new double[INITIAL_CAPACITY];
+        direction = new byte[INITIAL_CAPACITY];
+        life = new int[INITIAL_CAPACITY];
+        animation = new int[INITIAL_CAPACITY];
+        lastShot = new int[INITIAL_CAPACITY];
+        fireIntent = new boolean[INITIAL_CAPACITY];
+        random = new GameRandom[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Appends a tank facing right and returns its row.
+     *
+     * @param seed seeds the tank's own random generator
+     */
+    public int add(TankType type, int id, long seed, double x, double y) {
+        if (size == this.x.length) {
+            grow();
+        }
+        int row = size++;
+        this.id[row] = id;
+        this.type[row] = type;
+        this.alive[row] = true;
+        this.x[row] = x;
+        this.y[row] = y;
+        this.prevX[row] = x;
+        this.prevY[row] = y;
+        this.direction[row] = (byte) Direction.RIGHT.ordinal();
+        this.life[row] = type.life;
+        this.animation[row] = 0;
+        this.lastShot[row] = type.initialLastShot;
+        this.fireIntent[row] = false;
+        if (random[row] == null) {
+            random[row] = new GameRandom(seed);
+        } else {
+            random[row].setSeed(seed);
+        }
+        if (inGrid(row)) {
+            grid.insert(row, x, y);
+        }
+        return row;
+    }
+
+    /**
+     * Flags a tank as destroyed and takes it out of the grid at once, so nothing else
+     * hits it this tick; its row is reclaimed by the next compact().
+     */
+    public void kill(int row) {
+        if (alive[row]) {
+            alive[row] = false;
+            deadCount++;
+            grid.remove(row);
+        }
+    }
+
+    /**
+     * Removes every dead tank, sliding the survivors down so they keep their order.
+     * Runs in O(size) and does nothing when no tank died.
+     */
+    public void compact() {
+        if (deadCount == 0) {
+            return;
+        }
+        int to = 0;
+        for (int from = 0; from < size; from++) {
+            if (!alive[from]) {
+                continue;
+            }
+            if (from != to) {
+                moveRow(from, to);
+            }
+            to++;
+        }
+        for (int row = to; row < size; row++) {
+            alive[row] = false;
+        }
+        size = to;
+        deadCount = 0;
+    }
+
+    /**
+     * Drops the rows from {@code count} on, e.g. when a replica has fewer tanks than before.
+     */
+    public void truncate(int count) {
+        for (int row = count; row < size; row++) {
+            if (!alive[row]) {
+                deadCount--;
+            }
+            grid.remove(row);
+            alive[row] = false;
+        }
+        size = Math.min(size, count);
+    }
+
+    /**
+     * Puts a tank somewhere without interpolating from its old position.
+     */
+    public void setPosition(int row, double x, double y) {
+        this.x[row] = x;
+        this.y[row] = y;
+        this.prevX[row] = x;
+        this.prevY[row] = y;
+        syncGrid(row);
+    }
+
+    /**
+     * Moves a tank to the grid cell under its current position, after it moved.
+     */
+    void syncGrid(int row) {
+        grid.update(row, x[row], y[row]);
+    }
+
+    /**
+     * Places a replica tank where the server reported it (GameClient); replicas run no AI.
+     */
+    void setNetState(int row, int id, double x, double y, double prevX, double prevY, Direction direction) {
+        this.id[row] = id;
+        this.x[row] = x;
+        this.y[row] = y;
+        this.prevX[row] = prevX;
+        this.prevY[row] = prevY;
+        this.direction[row] = (byte) direction.ordinal();
+        syncGrid(row);
+    }
+
+    private boolean inGrid(int row) {
+        return row != PLAYER && type[row].team == BulletPool.ENEMY;
+    }
+
+    private void moveRow(int from, int to) {
+        id[to] = id[from];
+        type[to] = type[from];
+        alive[to] = true;
+        x[to] = x[from];
+        y[to] = y[from];
+        prevX[to] = prevX[from];
+        prevY[to] = prevY[from];
+        direction[to] = direction[from];
+        life[to] = life[from];
+        animation[to] = animation[from];
+        lastShot[to] = lastShot[from];
+        fireIntent[to] = fireIntent[from];
+
+        // Swap the generators, so the dead row keeps one to reuse
+        GameRandom generator = random[to];
+        random[to] = random[from];
+        random[from] = generator;
+
+        grid.move(from, to);
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        id = Arrays.copyOf(id, capacity);
+        type = Arrays.copyOf(type, capacity);
+        alive = Arrays.copyOf(alive, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        direction = Arrays.copyOf(direction, capacity);
+        life = Arrays.copyOf(life, capacity);
+        animation = Arrays.copyOf(animation, capacity);
+        lastShot = Arrays.copyOf(lastShot, capacity);
+        fireIntent = Arrays.copyOf(fireIntent, capacity);
+        random = Arrays.copyOf(random, capacity);
+    }
+
+    // Bytes written by writeState(int, ByteBuffer)
+    static final int STATE_BYTES = 4 + 1 + 4 * 8 + 1 + 4 + 4 + 4 + 8;
+
+    /**
+     * Writes everything about one tank that changes between ticks: id, type, position,
+     * previous position, direction, life, animation counter, last shot and random state.
+     */
+    void writeState(int row, ByteBuffer out) {
+        out.putInt(id[row]).put(type[row].id);
+        out.putDouble(x[row]).putDouble(y[row]).putDouble(prevX[row]).putDouble(prevY[row]);
+        out.put(direction[row]);
+        out.putInt(life[row]).putInt(animation[row]).putInt(lastShot[row]);
+        out.putLong(random[row].getState());
+    }
+
+    /**
+     * Restores what writeState(int, ByteBuffer) wrote into an existing row.
+     */
+    void readState(int row, ByteBuffer in) {
+        id[row] = in.getInt();
+        type[row] = TankType.byId(in.get());
+        x[row] = in.getDouble();
+        y[row] = in.getDouble();
+        prevX[row] = in.getDouble();
+        prevY[row] = in.getDouble();
+        direction[row] = in.get();
+        life[row] = in.getInt();
+        animation[row] = in.getInt();
+        lastShot[row] = in.getInt();
+        random[row].setState(in.getLong());
+        fireIntent[row] = false;
+        syncGrid(row);
+    }
+
+    /**
+     * Writes the live tanks for SaveState: the count, then each tank's state.
+     */
+    void writeState(ByteBuffer out) {
+        out.putInt(size - deadCount);
+        for (int row = 0; row < size; row++) {
+            if (alive[row]) {
+                writeState(row, out);
+            }
+        }
+    }
+
+    /**
+     * Replaces every tank with the ones written by writeState(ByteBuffer) and rebuilds the grid.
+     */
+    void readState(ByteBuffer in) {
+        int count = in.getInt();
+        grid.clear();
+        while (x.length < count) {
+            grow();
+        }
+        for (int row = 0; row < count; row++) {
+            if (random[row] == null) {
+                random[row] = new GameRandom(0);
+            }
+            alive[row] = true;
+            readState(row, in);
+            if (inGrid(row)) {
+                grid.insert(row, x[row], y[row]);
+            }
+        }
+        for (int row = count; row < size; row++) {
+            alive[row] = false;
+        }
+        size = count;
+        deadCount = 0;
+    }
+
+    /**
+     * Number of occupied rows, including tanks killed since the last compact().
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isAlive(int row) {
+        return alive[row];
+    }
+
+    public int getId(int row) {
+        return id[row];
+    }
+
+    public TankType getType(int row) {
+        return type[row];
+    }
+
+    public double getX(int row) {
+        return x[row];
+    }
+
+    public double getY(int row) {
+        return y[row];
+    }
+
+    public double getPrevX(int row) {
+        return prevX[row];
+    }
+
+    public double getPrevY(int row) {
+        return prevY[row];
+    }
+
+    public Direction getDirection(int row) {
+        return DIRECTIONS[direction[row]];
+    }
+
+    /**
+     * Returns which of the two animation sprites should be shown (alternates every 20 ticks).
+     */
+    public int getAnimationFrame(int row) {
+        return (animation[row] / 20) % 2;
+    }
+
+    public int getLife(int row) {
+        return life[row];
+    }
+
+    public void setLife(int row, int life) {
+        this.life[row] = life;
+    }
+}
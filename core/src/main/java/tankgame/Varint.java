@@ -0,0 +1,54 @@
+package tankgame;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Variable-length integers as used by the recording and network formats:
+ * little-endian base 128, 7 bits per byte, high bit set on all but the last byte.
+ * Signed values go through zigzag first so small negative numbers stay short.
+ */
+public final class Varint {
+
+    private Varint() {
+    }
+
+    public static void put(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the varint is longer than 64 bits
+     * @throws java.nio.BufferUnderflowException if the buffer ends inside the varint
+     */
+    public static long get(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint longer than 64 bits");
+    }
+
+    public static void putSigned(ByteBuffer out, long value) {
+        put(out, zigzag(value));
+    }
+
+    public static long getSigned(ByteBuffer in) {
+        return unzigzag(get(in));
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
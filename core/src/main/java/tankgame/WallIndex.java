@@ -0,0 +1,155 @@
+package tankgame;
+
+import java.util.Arrays;
+
+/**
+ * The walls of every row and every column as sorted lists of their positions, so
+ * "where is the nearest wall along this row" is a binary search instead of a walk
+ * over the tiles. Memory grows with the number of walls, not with the map's area,
+ * so the index stays small next to the 2-bit tile planes of a huge level.
+ * Built once from the map, then kept up to date by GameMap.setTile(), which inserts
+ * or removes one position in the tile's row list and one in its column list.
+ * Tiles outside the map count as walls, so a row with no wall to the right of a
+ * tile reports column cols, and one with none to the left reports -1.
+ */
+public class WallIndex {
+    private final int rows;
+    private final int cols;
+
+    // Sorted columns of the walls in each row, and how many of each array are used
+    private final int[][] rowWalls;
+    private final int[] rowWallCount;
+
+    // Sorted rows of the walls in each column, and how many of each array are used
+    private final int[][] colWalls;
+    private final int[] colWallCount;
+
+    WallIndex(GameMap map) {
+        this.rows = map.getRows();
+        this.cols = map.getCols();
+        rowWallCount = new int[rows];
+        colWallCount = new int[cols];
+
+        // Count first so every list is allocated at its exact size
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (map.isWall(row, col)) {
+                    rowWallCount[row]++;
+                    colWallCount[col]++;
+                }
+            }
+        }
+        rowWalls = new int[rows][];
+        for (int row = 0; row < rows; row++) {
+            rowWalls[row] = new int[rowWallCount[row]];
+        }
+        colWalls = new int[cols][];
+        for (int col = 0; col < cols; col++) {
+            colWalls[col] = new int[colWallCount[col]];
+        }
+
+        // Scanning row by row fills both kinds of list in ascending order
+        int[] rowFill = new int[rows];
+        int[] colFill = new int[cols];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (map.isWall(row, col)) {
+                    rowWalls[row][rowFill[row]++] = col;
+                    colWalls[col][colFill[col]++] = row;
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the index after a tile became a wall or stopped being one.
+     */
+    void tileChanged(int row, int col, boolean wall) {
+        if (wall) {
+            rowWalls[row] = insert(rowWalls[row], rowWallCount, row, col);
+            colWalls[col] = insert(colWalls[col], colWallCount, col, row);
+        } else {
+            remove(rowWalls[row], rowWallCount, row, col);
+            remove(colWalls[col], colWallCount, col, row);
+        }
+    }
+
+    /**
+     * Column of the first wall at or right of the tile, or cols if there is none.
+     */
+    public int wallRight(int row, int col) {
+        int index = firstAtOrAfter(rowWalls[row], rowWallCount[row], col);
+        return index < rowWallCount[row] ? rowWalls[row][index] : cols;
+    }
+
+    /**
+     * Column of the first wall at or left of the tile, or -1 if there is none.
+     */
+    public int wallLeft(int row, int col) {
+        int index = firstAtOrAfter(rowWalls[row], rowWallCount[row], col + 1) - 1;
+        return index >= 0 ? rowWalls[row][index] : -1;
+    }
+
+    /**
+     * Row of the first wall at or below the tile, or rows if there is none.
+     */
+    public int wallDown(int row, int col) {
+        int index = firstAtOrAfter(colWalls[col], colWallCount[col], row);
+        return index < colWallCount[col] ? colWalls[col][index] : rows;
+    }
+
+    /**
+     * Row of the first wall at or above the tile, or -1 if there is none.
+     */
+    public int wallUp(int row, int col) {
+        int index = firstAtOrAfter(colWalls[col], colWallCount[col], row + 1) - 1;
+        return index >= 0 ? colWalls[col][index] : -1;
+    }
+
+    /**
+     * Index of the first of the {@code count} sorted positions that is at least
+     * {@code position}, or count if there is none.
+     */
+    private static int firstAtOrAfter(int[] walls, int count, int position) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (walls[middle] < position) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Adds a position to list {@code line}, growing its array if it is full, and
+     * returns the array now holding the list.
+     */
+    private static int[] insert(int[] walls, int[] counts, int line, int position) {
+        int count = counts[line];
+        int index = firstAtOrAfter(walls, count, position);
+        if (index < count && walls[index] == position) {
+            return walls;
+        }
+        if (count == walls.length) {
+            walls = Arrays.copyOf(walls, Math.max(4, count * 2));
+        }
+        System.arraycopy(walls, index, walls, index + 1, count - index);
+        walls[index] = position;
+        counts[line] = count + 1;
+        return walls;
+    }
+
+    private static void remove(int[] walls, int[] counts, int line, int position) {
+        int count = counts[line];
+        int index = firstAtOrAfter(walls, count, position);
+        if (index == count || walls[index] != position) {
+            return;
+        }
+        System.arraycopy(walls, index + 1, walls, index, count - index - 1);
+        counts[line] = count - 1;
+    }
+}
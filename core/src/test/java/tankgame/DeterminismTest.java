@@ -0,0 +1,101 @@
+package tankgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two seeded worlds fed the same inputs must end in the same state, byte for byte:
+ * with the enemy AI planned serially or on a ForkJoinPool, and when a recorded
+ * session is replayed. These are the guarantees the parallel update, the Tanks
+ * component rows and Replay rely on, and the ones a change would break silently.
+ */
+class DeterminismTest {
+    private static final long SEED = 42;
+
+    // Enough enemies for EnemyUpdater to split the plan phase across the pool
+    private static final int ENEMIES = 4 * EnemyUpdater.SPLIT_THRESHOLD;
+
+    // States are compared every this many ticks, so a failure names when they split
+    private static final int CHECK_INTERVAL = 50;
+
+    @Test
+    void parallelEnemyUpdateMatchesSerial() {
+        GameWorld serial = crowdedWorld();
+        GameWorld parallel = crowdedWorld();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        parallel.getEnemyUpdater().setPool(pool);
+
+        BotPlayer serialBot = new BotPlayer(SEED);
+        BotPlayer parallelBot = new BotPlayer(SEED);
+        SaveState serialState = new SaveState();
+        SaveState parallelState = new SaveState();
+        try {
+            for (int tick = 1; tick <= 600; tick++) {
+                // Keep the player alive, or the worlds stop updating
+                serial.getTanks().setLife(Tanks.PLAYER, TankType.PLAYER.life);
+                parallel.getTanks().setLife(Tanks.PLAYER, TankType.PLAYER.life);
+                serial.tick(serialBot.nextInput(serial));
+                parallel.tick(parallelBot.nextInput(parallel));
+
+                if (tick % CHECK_INTERVAL == 0) {
+                    serialState.capture(serial);
+                    parallelState.capture(parallel);
+                    assertEquals(serialState.getBytes(), parallelState.getBytes(), "State differs after tick " + tick);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertTrue(serial.getEnemyCount() > EnemyUpdater.SPLIT_THRESHOLD, "Too few enemies left to plan in parallel");
+    }
+
+    @Test
+    void replayReproducesRecordedSession(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("session.rec");
+        GameWorld played = new GameWorld(SEED);
+        BotPlayer bot = new BotPlayer(SEED);
+        InputRecorder recorder = new InputRecorder(file, SEED);
+        for (int tick = 0; tick < 5000; tick++) {
+            int input = bot.nextInput(played);
+            played.tick(input);
+            recorder.record(input);
+        }
+        recorder.close(played);
+
+        Replay replay = Replay.load(file);
+        assertEquals(5000, replay.getTicks());
+        assertEquals(played.getScore(), replay.getRecordedScore());
+        GameWorld replayed = replay.play(new GameMap());
+
+        SaveState playedState = new SaveState();
+        SaveState replayedState = new SaveState();
+        playedState.capture(played);
+        replayedState.capture(replayed);
+        assertEquals(playedState.getBytes(), replayedState.getBytes());
+    }
+
+    /**
+     * A world with ENEMIES tanks spread over the playable area, the same for every call.
+     */
+    private static GameWorld crowdedWorld() {
+        GameWorld gameWorld = new GameWorld(SEED);
+        GameMap map = gameWorld.getGameMap();
+        int maxX = (map.getCols() - 1) * GameMap.TILE_SIZE - 34;
+        int maxY = (map.getRows() - 1) * GameMap.TILE_SIZE - 34;
+        Random random = new Random(SEED);
+        for (int i = 0; i < ENEMIES; i++) {
+            gameWorld.getTanks().setPosition(gameWorld.spawnEnemy(),
+                    GameMap.TILE_SIZE + random.nextInt(maxX - GameMap.TILE_SIZE),
+                    GameMap.TILE_SIZE + random.nextInt(maxY - GameMap.TILE_SIZE));
+        }
+        return gameWorld;
+    }
+}
@@ -0,0 +1,122 @@
+package tankgame;
+
+import org.HdrHistogram.EncodableHistogram;
+import org.HdrHistogram.HistogramLogReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * HistogramLog writes HdrHistogram's log format without depending on it, so these
+ * tests read its output back with HdrHistogram itself and compare it with the
+ * same values recorded into an HdrHistogram directly.
+ */
+class HistogramLogTest {
+    private static final double[] PERCENTILES = {0, 10, 50, 90, 99, 99.9, 100};
+
+    @Test
+    void loggedIntervalDecodesToTheRecordedValues(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("tick.hlog");
+        long[] values = latencies(10_000, 1);
+        org.HdrHistogram.Histogram expected = hdrHistogram(values);
+
+        HistogramLog log = new HistogramLog(file);
+        HistogramLog.Series series = log.series("tick");
+        long now = System.nanoTime();
+        for (long value : values) {
+            series.record(now, value);
+        }
+        series.finish(now + 1_000_000);
+        log.close();
+
+        List<String> lines = Files.readAllLines(file);
+        String line = lines.get(lines.size() - 1);
+        assertTrue(line.startsWith("Tag=tick,"), line);
+        String[] fields = line.split(",");
+        assertEquals(5, fields.length, line);
+        assertEquals(String.format(Locale.US, "%.3f", expected.getMaxValue() / 1e6), fields[3]);
+
+        ByteBuffer encoded = ByteBuffer.wrap(Base64.getDecoder().decode(fields[4]));
+        org.HdrHistogram.Histogram decoded = org.HdrHistogram.Histogram.decodeFromCompressedByteBuffer(encoded, 0);
+        assertSameCounts(expected, decoded, values);
+        assertEquals(HistogramLog.HIGHEST_NANOS, decoded.getHighestTrackableValue());
+        assertEquals(HistogramLog.SIGNIFICANT_DIGITS, decoded.getNumberOfSignificantValueDigits());
+    }
+
+    @Test
+    void logReaderReadsEveryInterval(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("frame.hlog");
+        long intervalNanos = 1_000_000;
+        long[] values = latencies(5_000, 2);
+
+        HistogramLog log = new HistogramLog(file, intervalNanos);
+        HistogramLog.Series series = log.series("frame");
+        long now = System.nanoTime();
+        for (int i = 0; i < values.length; i++) {
+            // 100 values per interval; intervals the writer lags behind on get merged
+            series.record(now + i / 100 * intervalNanos, values[i]);
+        }
+        series.finish(now + values.length / 100 * intervalNanos);
+        log.close();
+
+        HistogramLogReader reader = new HistogramLogReader(file.toFile());
+        org.HdrHistogram.Histogram merged = new org.HdrHistogram.Histogram(
+                HistogramLog.HIGHEST_NANOS, HistogramLog.SIGNIFICANT_DIGITS);
+        int intervals = 0;
+        double lastStart = -1;
+        EncodableHistogram interval;
+        while ((interval = reader.nextIntervalHistogram()) != null) {
+            assertEquals("frame", interval.getTag());
+            assertTrue(interval.getStartTimeStamp() >= lastStart, "Intervals out of order");
+            lastStart = interval.getStartTimeStamp();
+            merged.add((org.HdrHistogram.Histogram) interval);
+            intervals++;
+        }
+        assertTrue(intervals > 1, "Expected several intervals, got " + intervals);
+        assertSameCounts(hdrHistogram(values), merged, values);
+    }
+
+    private static void assertSameCounts(org.HdrHistogram.Histogram expected, org.HdrHistogram.Histogram actual,
+                                         long[] values) {
+        assertEquals(expected.getTotalCount(), actual.getTotalCount());
+        assertEquals(expected.getMaxValue(), actual.getMaxValue());
+        for (double percentile : PERCENTILES) {
+            assertEquals(expected.getValueAtPercentile(percentile), actual.getValueAtPercentile(percentile),
+                    "p" + percentile);
+        }
+        for (long value : values) {
+            assertEquals(expected.getCountAtValue(value), actual.getCountAtValue(value), "count at " + value);
+        }
+    }
+
+    private static org.HdrHistogram.Histogram hdrHistogram(long[] values) {
+        org.HdrHistogram.Histogram histogram = new org.HdrHistogram.Histogram(
+                HistogramLog.HIGHEST_NANOS, HistogramLog.SIGNIFICANT_DIGITS);
+        for (long value : values) {
+            histogram.recordValue(value);
+        }
+        return histogram;
+    }
+
+    /**
+     * Latencies spread evenly over the orders of magnitude from 1 microsecond to 10 seconds.
+     */
+    private static long[] latencies(int count, long seed) {
+        Random random = new Random(seed);
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = (long) Math.pow(10, 3 + 7 * random.nextDouble());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,157 @@
+package tankgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A frame encoded against a baseline must decode, on top of the client's copy of
+ * that baseline, to the frame the server captured; and a client talking to a real
+ * GameServer over localhost must get its snapshots and the player's control.
+ */
+class NetFrameTest {
+    private static final long SEED = 7;
+
+    // How long the localhost test waits for the server before giving up
+    private static final long TIMEOUT_NANOS = 10_000_000_000L;
+
+    @Test
+    void effectSpawnedTheTickAfterTheBaselineSurvivesTheDelta() {
+        GameWorld gameWorld = new GameWorld(SEED);
+        for (int tick = 0; tick < 10; tick++) {
+            gameWorld.tick(0);
+        }
+        NetFrame base = new NetFrame();
+        base.capture(gameWorld, 0);
+
+        // What a bullet hitting a wall in the next tick does
+        gameWorld.getEffects().spawn(100.5, 200.25, true, gameWorld.frame);
+        gameWorld.tick(0);
+        NetFrame frame = new NetFrame();
+        frame.capture(gameWorld, 0);
+        assertEquals(base.tick + 1, frame.tick);
+
+        NetFrame decoded = roundTrip(frame, base);
+        assertEquals(1, decoded.effectCount, "Effect of the tick after the baseline was dropped");
+        assertEquals(base.tick, decoded.effectFrame[0]);
+        assertEquals(NetEntities.fixed(100.5), decoded.effectX[0]);
+        assertEquals(NetEntities.fixed(200.25), decoded.effectY[0]);
+        assertTrue(decoded.effectLarge[0]);
+    }
+
+    @Test
+    void deltaDecodesToTheCapturedFrame() {
+        GameWorld gameWorld = new GameWorld(SEED);
+        BotPlayer bot = new BotPlayer(SEED);
+        NetFrame base = new NetFrame();
+        NetFrame clientBase = null;
+        for (int tick = 1; tick <= 600; tick++) {
+            gameWorld.getTanks().setLife(Tanks.PLAYER, TankType.PLAYER.life);
+            gameWorld.tick(bot.nextInput(gameWorld));
+            NetFrame frame = new NetFrame();
+            frame.capture(gameWorld, 0);
+
+            NetFrame decoded = roundTrip(frame, clientBase);
+            assertSameFrame(frame, decoded, base.tick);
+            // Acknowledge every few ticks, so deltas span more than one tick too
+            if (tick % 3 == 0) {
+                base = frame;
+                clientBase = decoded;
+            }
+        }
+    }
+
+    @Test
+    void clientOverLocalhostReceivesSnapshots() throws Exception {
+        GameMap map = new GameMap();
+        GameServer server = new GameServer(0, () -> new GameWorld(SEED, map));
+        Thread serverThread = new Thread(() -> {
+            try {
+                server.run();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, "server");
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        GameClient client = GameClient.connect("localhost", server.getPort(), map);
+        try {
+            long deadline = System.nanoTime() + TIMEOUT_NANOS;
+            while (client.getWorld().frame < 2 * GameWorld.TICKS_PER_SECOND && System.nanoTime() < deadline) {
+                client.tick(0);
+                Thread.sleep(1000 / GameWorld.TICKS_PER_SECOND);
+            }
+            assertTrue(client.getWorld().frame >= 2 * GameWorld.TICKS_PER_SECOND,
+                    "Client got to tick " + client.getWorld().frame);
+            assertTrue(client.isControlling(), "The first client should control the player");
+            assertTrue(client.getBytesReceived() > 0);
+        } finally {
+            client.close();
+            server.stop();
+            serverThread.join(TIMEOUT_NANOS / 1_000_000);
+        }
+    }
+
+    /**
+     * Encodes a frame against the server's baseline and decodes it on top of the
+     * client's copy of it, as GameServer and GameClient do.
+     */
+    private static NetFrame roundTrip(NetFrame frame, NetFrame base) {
+        ByteBuffer buffer = ByteBuffer.allocate(frame.maxEncodedBytes(base)).order(ByteOrder.LITTLE_ENDIAN);
+        frame.encode(buffer, base);
+        buffer.flip();
+        assertEquals(base == null ? NetFrame.NONE : base.tick, NetFrame.peekBaseTick(buffer));
+        NetFrame decoded = new NetFrame();
+        decoded.decode(buffer, base);
+        assertEquals(0, buffer.remaining(), "Bytes left after decoding");
+        return decoded;
+    }
+
+    /**
+     * Compares everything a delta carries; effects only from the baseline tick on.
+     */
+    private static void assertSameFrame(NetFrame expected, NetFrame actual, int baseTick) {
+        String at = " at tick " + expected.tick;
+        assertEquals(expected.tick, actual.tick);
+        assertEquals(expected.generation, actual.generation);
+        assertEquals(expected.score, actual.score, "score" + at);
+        assertArrayEquals(expected.player, actual.player, "player" + at);
+        assertSameEntities(expected.tanks, actual.tanks, "tanks" + at);
+        assertSameEntities(expected.bullets, actual.bullets, "bullets" + at);
+
+        int effects = 0;
+        for (int i = 0; i < expected.effectCount; i++) {
+            if (expected.effectFrame[i] >= baseTick) {
+                assertEquals(expected.effectFrame[i], actual.effectFrame[effects], "effect frame" + at);
+                assertEquals(expected.effectX[i], actual.effectX[effects], "effect x" + at);
+                assertEquals(expected.effectY[i], actual.effectY[effects], "effect y" + at);
+                assertEquals(expected.effectLarge[i], actual.effectLarge[effects], "effect size" + at);
+                effects++;
+            }
+        }
+        assertEquals(effects, actual.effectCount, "effects" + at);
+    }
+
+    private static void assertSameEntities(NetEntities expected, NetEntities actual, String what) {
+        assertEquals(expected.count, actual.count, what);
+        int count = expected.count;
+        assertArrayEquals(Arrays.copyOf(expected.id, count), Arrays.copyOf(actual.id, count), what + " ids");
+        assertArrayEquals(Arrays.copyOf(expected.x, count), Arrays.copyOf(actual.x, count), what + " x");
+        assertArrayEquals(Arrays.copyOf(expected.y, count), Arrays.copyOf(actual.y, count), what + " y");
+        assertArrayEquals(Arrays.copyOf(expected.vx, count), Arrays.copyOf(actual.vx, count), what + " vx");
+        assertArrayEquals(Arrays.copyOf(expected.vy, count), Arrays.copyOf(actual.vy, count), what + " vy");
+        assertArrayEquals(Arrays.copyOf(expected.direction, count), Arrays.copyOf(actual.direction, count),
+                what + " directions");
+        assertArrayEquals(Arrays.copyOf(expected.extra, count), Arrays.copyOf(actual.extra, count),
+                what + " extras");
+    }
+}
@@ -0,0 +1,93 @@
+package tankgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The WallIndex must answer like a walk over the tiles, both when freshly built and
+ * after GameMap.setTile() has updated it through any number of wall changes.
+ */
+class WallIndexTest {
+
+    @Test
+    void freshIndexMatchesTileWalk() {
+        GameMap map = new GameMap();
+        assertMatchesWalk(map, map.getWallIndex());
+    }
+
+    @Test
+    void updatedIndexMatchesFreshBuild() {
+        GameMap map = new GameMap();
+        WallIndex index = map.getWallIndex();
+        Random random = new Random(42);
+        for (int change = 1; change <= 2000; change++) {
+            int row = random.nextInt(map.getRows());
+            int col = random.nextInt(map.getCols());
+            map.setTile(row, col, random.nextInt(GameMap.TILE_TYPES));
+            if (change % 100 == 0) {
+                assertMatchesWalk(map, index);
+                assertSameAnswers(map, new WallIndex(map), index);
+            }
+        }
+    }
+
+    @Test
+    void emptiedRowsAndColumnsReportTheMapEdges() {
+        GameMap map = GameMap.empty(8, 10);
+        WallIndex index = map.getWallIndex();
+        map.setWall(3, 4, true);
+        map.setWall(3, 7, true);
+        map.setWall(3, 4, false);
+        map.setWall(3, 7, false);
+        assertEquals(10, index.wallRight(3, 0));
+        assertEquals(-1, index.wallLeft(3, 9));
+        assertEquals(8, index.wallDown(0, 4));
+        assertEquals(-1, index.wallUp(7, 7));
+        assertMatchesWalk(map, index);
+    }
+
+    private static void assertMatchesWalk(GameMap map, WallIndex index) {
+        int rows = map.getRows();
+        int cols = map.getCols();
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int right = col;
+                while (right < cols && !map.isWall(row, right)) {
+                    right++;
+                }
+                int left = col;
+                while (left >= 0 && !map.isWall(row, left)) {
+                    left--;
+                }
+                int down = row;
+                while (down < rows && !map.isWall(down, col)) {
+                    down++;
+                }
+                int up = row;
+                while (up >= 0 && !map.isWall(up, col)) {
+                    up--;
+                }
+                String tile = " at " + row + "," + col;
+                assertEquals(right, index.wallRight(row, col), "wallRight" + tile);
+                assertEquals(left, index.wallLeft(row, col), "wallLeft" + tile);
+                assertEquals(down, index.wallDown(row, col), "wallDown" + tile);
+                assertEquals(up, index.wallUp(row, col), "wallUp" + tile);
+            }
+        }
+    }
+
+    private static void assertSameAnswers(GameMap map, WallIndex expected, WallIndex actual) {
+        for (int row = 0; row < map.getRows(); row++) {
+            for (int col = 0; col < map.getCols(); col++) {
+                String tile = " at " + row + "," + col;
+                assertEquals(expected.wallRight(row, col), actual.wallRight(row, col), "wallRight" + tile);
+                assertEquals(expected.wallLeft(row, col), actual.wallLeft(row, col), "wallLeft" + tile);
+                assertEquals(expected.wallDown(row, col), actual.wallDown(row, col), "wallDown" + tile);
+                assertEquals(expected.wallUp(row, col), actual.wallUp(row, col), "wallUp" + tile);
+            }
+        }
+    }
+}
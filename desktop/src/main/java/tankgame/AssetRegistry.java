@@ -0,0 +1,79 @@
+package tankgame;
+
+import javafx.scene.image.Image;
+
+import java.io.File;
+import java.util.HashMap;
+
+/**
+ * Central cache of the sprite images in the assets folder.
+ * Each file is decoded at most once and every caller shares the same Image instance.
+ * Calling {@link #preloadAll()} at startup means gameplay never touches the disk or
+ * the PNG decoder; the hit/miss counters and decode time make that easy to verify.
+ */
+public class AssetRegistry {
+    private final String directory;
+    private final HashMap<String, Image> images = new HashMap<>();
+
+    // Cache statistics
+    private long hits = 0;
+    private long misses = 0;
+    private long decodeNanos = 0;
+
+    /**
+     * @param directory the folder the sprite files are loaded from, e.g. "assets"
+     */
+    public AssetRegistry(String directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the shared image for a file in the assets folder, decoding it on first use.
+     *
+     * @param name the file name, e.g. "bullet.png"
+     */
+    public Image get(String name) {
+        Image image = images.get(name);
+        if (image != null) {
+            hits++;
+            return image;
+        }
+        misses++;
+        long start = System.nanoTime();
+        image = new Image("file:" + directory + "/" + name);
+        decodeNanos += System.nanoTime() - start;
+        images.put(name, image);
+        return image;
+    }
+
+    /**
+     * Decodes every PNG in the assets folder up front.
+     */
+    public void preloadAll() {
+        File[] files = new File(directory).listFiles((dir, name) -> name.endsWith(".png"));
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (!images.containsKey(file.getName())) {
+                get(file.getName());
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getDecodeNanos() {
+        return decodeNanos;
+    }
+
+    public int size() {
+        return images.size();
+    }
+}
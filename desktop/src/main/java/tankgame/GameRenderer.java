@@ -0,0 +1,250 @@
+package tankgame;
+
+import javafx.scene.Group;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Thin JavaFX view of the game.
+ * Applies the latest RenderSnapshot published by the simulation thread to ImageView
+ * nodes; it never reads or changes the live game state.
+ * Only what overlaps the camera (plus a margin) gets a node: walls are culled per
+ * chunk, and tanks and bullets are read only from the snapshot buckets under the
+ * camera. Whatever leaves the view gives its node back to the pool.
+ */
+public class GameRenderer {
+    // Extra border around the camera that is still drawn, in pixels
+    static final double CULL_MARGIN = 64;
+
+    private final Group root;
+
+    // Layers inside root, bottom to top
+    private final Group wallLayer = new Group();
+    private final Group spriteLayer = new Group();
+
+    // Size of the window the camera shows
+    private final double viewWidth, viewHeight;
+
+    // Sprite images shared by every node of the same kind
+    private final Image bulletImage;
+    private final Image explosionImage;
+    private final Image smallExplosionImage;
+    private final Image[] playerSprites;
+    private final Image[] enemySprites;
+
+    private ImageView playerView;
+
+    // Reusable nodes for tanks, bullets and explosions
+    private final SpritePool sprites;
+
+    // Pre-rasterized wall tiles
+    private final WallLayer walls;
+
+    // Tanks and bullets have no identity here; the i-th visible one simply uses view i
+    private final ArrayList<ImageView> tankViews = new ArrayList<>();
+    private final ArrayList<ImageView> bulletViews = new ArrayList<>();
+
+    // Node shown for each slot of the effect ring, and the effect serial it was set up for
+    private final ImageView[] effectViews = new ImageView[EffectManager.CAPACITY];
+    private final int[] effectSerials = new int[EffectManager.CAPACITY];
+
+    // World the scene was last built for; -1 before the first reset
+    private long generation = -1;
+
+    // World-space rectangle that is drawn this frame (camera plus margin)
+    private double minX, minY, maxX, maxY;
+
+    // Interpolation factor between the previous and the current tick for this frame
+    private double alpha = 1;
+
+    /**
+     * Looks up the sprite images used to draw the game.
+     *
+     * @param root the JavaFX group the game objects are drawn into
+     * @param assets the shared image cache
+     * @param viewWidth width of the window the camera shows
+     * @param viewHeight height of the window the camera shows
+     */
+    public GameRenderer(Group root, AssetRegistry assets, double viewWidth, double viewHeight) {
+        this.root = root;
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+        this.sprites = new SpritePool(spriteLayer);
+        this.walls = new WallLayer(wallLayer, assets.get("wall.png"));
+        this.bulletImage = assets.get("bullet.png");
+        this.explosionImage = assets.get("explosion.png");
+        this.smallExplosionImage = assets.get("smallExplosion.png");
+        this.playerSprites = new Image[] {
+                assets.get("yellowTank1.png"),
+                assets.get("yellowTank2.png")
+        };
+        this.enemySprites = new Image[] {
+                assets.get("whiteTank1.png"),
+                assets.get("whiteTank2.png")
+        };
+    }
+
+    /**
+     * Clears the scene and builds the static nodes (walls and player) for the snapshot's world.
+     */
+    public void reset(RenderSnapshot snapshot) {
+        root.getChildren().clear();
+        wallLayer.getChildren().clear();
+        spriteLayer.getChildren().clear();
+        tankViews.clear();
+        bulletViews.clear();
+        Arrays.fill(effectViews, null);
+
+        walls.build(snapshot.getMap());
+        sprites.reset();
+
+        playerView = new ImageView(playerSprites[0]);
+        root.getChildren().addAll(wallLayer, spriteLayer, playerView);
+        generation = snapshot.getGeneration();
+    }
+
+    /**
+     * Centers the camera on the player and mirrors the visible part of a snapshot onto the scene graph.
+     * The scene is rebuilt first if the snapshot comes from a new world (after a restart).
+     *
+     * @param alpha how far the clock is between the last two ticks (0 to 1); moving
+     *              entities are drawn interpolated between their previous and current positions
+     */
+    public void render(RenderSnapshot snapshot, double alpha) {
+        if (snapshot.getGeneration() != generation) {
+            reset(snapshot);
+        }
+        this.alpha = alpha;
+        double playerX = lerp(snapshot.getPlayerPrevX(), snapshot.getPlayerX());
+        double playerY = lerp(snapshot.getPlayerPrevY(), snapshot.getPlayerY());
+
+        // Center the game view on the player's tank
+        root.setTranslateX(viewWidth / 2 - playerX);
+        root.setTranslateY(viewHeight / 2 - playerY);
+        minX = playerX - viewWidth / 2 - CULL_MARGIN;
+        minY = playerY - viewHeight / 2 - CULL_MARGIN;
+        maxX = playerX + viewWidth / 2 + CULL_MARGIN;
+        maxY = playerY + viewHeight / 2 + CULL_MARGIN;
+
+        walls.cull(minX, minY, maxX, maxY);
+
+        playerView.setImage(playerSprites[snapshot.getPlayerAnimationFrame()]);
+        playerView.setRotate(rotationOf(snapshot.getPlayerDirection()));
+        playerView.setX(playerX);
+        playerView.setY(playerY);
+
+        renderSprites(snapshot, snapshot.getTanks(), tankViews, enemySprites,
+                BulletManager.TANK_SIZE, BulletManager.TANK_SIZE);
+        renderSprites(snapshot, snapshot.getBullets(), bulletViews, null,
+                BulletManager.BULLET_WIDTH, BulletManager.BULLET_HEIGHT);
+        renderEffects(snapshot);
+    }
+
+    /**
+     * Draws the sprites of the buckets under the view.
+     * A sprite is bucketed by its top-left corner, so the buckets one step up and left
+     * of the view are visited as well; sprites are always smaller than a bucket.
+     *
+     * @param frames animation frames by index, or null for the bullet sprite
+     */
+    private void renderSprites(RenderSnapshot snapshot, RenderSnapshot.SpriteList list, ArrayList<ImageView> views,
+                               Image[] frames, double width, double height) {
+        int bucketSize = RenderSnapshot.BUCKET_PIXELS;
+        int minRow = Math.max(0, (int) Math.floor(minY / bucketSize) - 1);
+        int maxRow = Math.min(snapshot.getBucketRows() - 1, (int) Math.floor(maxY / bucketSize));
+        int minCol = Math.max(0, (int) Math.floor(minX / bucketSize) - 1);
+        int maxCol = Math.min(snapshot.getBucketCols() - 1, (int) Math.floor(maxX / bucketSize));
+
+        int visible = 0;
+        for (int row = minRow; row <= maxRow; row++) {
+            // The buckets of a row are stored one after another, so its visible part is one range
+            int firstBucket = row * snapshot.getBucketCols() + minCol;
+            int end = list.bucketEnd(row * snapshot.getBucketCols() + maxCol);
+            for (int i = list.bucketStart(firstBucket); i < end; i++) {
+                double x = lerp(list.getPrevX(i), list.getX(i));
+                double y = lerp(list.getPrevY(i), list.getY(i));
+                if (!inView(x, y, width, height)) {
+                    continue;
+                }
+                Image image = frames == null ? bulletImage : frames[list.getAnimationFrame(i)];
+                if (visible == views.size()) {
+                    views.add(sprites.acquire(image));
+                }
+                ImageView view = views.get(visible++);
+                view.setImage(image);
+                view.setRotate(rotationOf(list.getDirection(i)));
+                view.setX(x);
+                view.setY(y);
+            }
+        }
+        // Views past the visible sprites go back to the pool
+        while (views.size() > visible) {
+            sprites.release(views.remove(views.size() - 1));
+        }
+    }
+
+    /**
+     * Shows a pooled node for every live, visible slot of the effect ring and hides the rest.
+     * Large explosions are drawn 30px up and to the left of the impact point.
+     */
+    private void renderEffects(RenderSnapshot snapshot) {
+        for (int slot = 0; slot < EffectManager.CAPACITY; slot++) {
+            ImageView view = effectViews[slot];
+            boolean large = snapshot.isEffectLarge(slot);
+            Image image = large ? explosionImage : smallExplosionImage;
+            double x = large ? snapshot.getEffectX(slot) - 30 : snapshot.getEffectX(slot);
+            double y = large ? snapshot.getEffectY(slot) - 30 : snapshot.getEffectY(slot);
+
+            if (!snapshot.isEffectActive(slot) || !inView(x, y, image.getWidth(), image.getHeight())) {
+                if (view != null) {
+                    sprites.release(view);
+                    effectViews[slot] = null;
+                }
+                continue;
+            }
+            if (view != null && effectSerials[slot] == snapshot.getEffectSerial(slot)) {
+                continue;
+            }
+
+            if (view == null) {
+                view = sprites.acquire(image);
+                effectViews[slot] = view;
+            }
+            view.setImage(image);
+            view.setRotate(0);
+            view.setX(x);
+            view.setY(y);
+            effectSerials[slot] = snapshot.getEffectSerial(slot);
+        }
+    }
+
+    private double lerp(double previous, double current) {
+        return previous + (current - previous) * alpha;
+    }
+
+    /**
+     * Returns true if a box overlaps the area drawn this frame.
+     */
+    private boolean inView(double x, double y, double width, double height) {
+        return x + width > minX && x < maxX && y + height > minY && y < maxY;
+    }
+
+    /**
+     * Sprite rotation (in degrees) for a facing direction; the images face right.
+     */
+    private static double rotationOf(Direction direction) {
+        switch (direction) {
+            case DOWN:
+                return 90;
+            case LEFT:
+                return 180;
+            case UP:
+                return 270;
+            default:
+                return 0;
+        }
+    }
+}
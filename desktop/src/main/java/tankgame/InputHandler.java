@@ -1,24 +1,39 @@
-import java.util.HashSet;
-import javafx.scene.input.KeyCode;
-
-/**
- * Handles keyboard input by tracking currently pressed keys using a HashSet.
- * Provides methods to add, remove, and check the status of keys.
- * Typically used for real-time input handling in games.
- */
-public class InputHandler {
-    private final HashSet<KeyCode> keysPressed = new HashSet<>();
-
-    public void add(KeyCode key) {
-        keysPressed.add(key);
-    }
-
-    public void remove(KeyCode key) {
-        keysPressed.remove(key);
-    }
-
-    public boolean isPressed(KeyCode key) {
-        return keysPressed.contains(key);
-    }
-
-}
\ No newline at end of file
+package tankgame;
+
+import java.util.HashSet;
+import javafx.scene.input.KeyCode;
+
+/**
+ * Handles keyboard input by tracking currently pressed keys using a HashSet.
+ * Provides methods to add, remove, and check the status of keys.
+ * Typically used for real-time input handling in games.
+ */
+public class InputHandler {
+    private final HashSet<KeyCode> keysPressed = new HashSet<>();
+
+    public void add(KeyCode key) {
+        keysPressed.add(key);
+    }
+
+    public void remove(KeyCode key) {
+        keysPressed.remove(key);
+    }
+
+    public boolean isPressed(KeyCode key) {
+        return keysPressed.contains(key);
+    }
+
+    /**
+     * Translates the currently pressed keys into the PlayerInput flags the simulation consumes.
+     */
+    public int getPlayerInput() {
+        int input = PlayerInput.NONE;
+        if (isPressed(KeyCode.UP)) input |= PlayerInput.UP;
+        if (isPressed(KeyCode.DOWN)) input |= PlayerInput.DOWN;
+        if (isPressed(KeyCode.LEFT)) input |= PlayerInput.LEFT;
+        if (isPressed(KeyCode.RIGHT)) input |= PlayerInput.RIGHT;
+        if (isPressed(KeyCode.X)) input |= PlayerInput.FIRE;
+        return input;
+    }
+
+}
@@ -0,0 +1,315 @@
+package tankgame;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+public class Main extends Application{
+    // Runs the game; stopped when the application exits so recordings are finished
+    private SimulationThread simulation;
+
+    // Set once a restart was asked for, until the new world shows up
+    private boolean restarting = false;
+
+    // Stress test being run (--stress), or null; the application exits when it is finished
+    private StressTest stressTest;
+
+    // Frame and tick time log (--latency-log), or null; the AnimationTimer time of the last frame
+    private HistogramLog latencyLog;
+    private HistogramLog.Series frameLog;
+    private long lastFrame = 0;
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+    /**
+     * Entry point for the JavaFX application.
+     * Initializes the game scene, UI layers, input handling, and starts the game loop.
+     *
+     * @param stage the primary stage for this application.
+     * @throws Exception if any error occurs during initialization.
+     */
+    @Override
+    public void start(Stage stage) throws Exception {
+
+        // Create UI and game layers
+        Pane uiLayer = new Pane();                  // Layer for UI elements like labels
+        Group root = new Group();                   // Layer for game objects
+        Group window = new Group(root, uiLayer);    // Combined root for the Scene
+
+        // Create the main game scene
+        Scene scene = new Scene(window, 1080, 720, Color.BLACK);
+
+
+        // Set stage properties
+        stage.setTitle("Tank Game");
+        stage.setResizable(false);
+
+        // Create "Pause" text
+        Label pauseText = new Label("Game Paused");
+        pauseText.setFont(Font.font("Monospaced", FontWeight.BOLD, 36));
+        pauseText.setTextFill(Color.RED);
+        pauseText.setLayoutX(480);
+        pauseText.setLayoutY(300);
+
+        // Create "Restart" text shown during pause
+        Label restartText = new Label("Restart? (R)");
+        restartText.setFont(Font.font("Monospaced", FontWeight.BOLD, 36));
+        restartText.setTextFill(Color.WHITE);
+        restartText.setLayoutX(480);
+        restartText.setLayoutY(330);
+
+        // Pause state flag
+        boolean[] pause = {false};
+
+        // The game runs on its own thread; this one only draws what it publishes.
+        // An optional argument names a level file to play instead of the default map;
+        // loaded levels are read-only, so every restart can share the same mapping
+        List<String> levels = getParameters().getUnnamed();
+        GameMap level = levels.isEmpty() ? null : LevelFile.load(Paths.get(levels.get(0)));
+
+        // --connect=<host>:<port> plays on a GameServer (started with the same level);
+        // --stress=enemies=<n>,bullets=<n>,... runs a StressTest with a bot as the player
+        String server = getParameters().getNamed().get("connect");
+        String stress = getParameters().getNamed().get("stress");
+        if (stress != null) {
+            stressTest = StressTest.parse(Arrays.asList(stress.split(",")), level);
+            simulation = new SimulationThread(stressTest);
+        } else if (server != null) {
+            int colon = server.lastIndexOf(':');
+            String host = colon < 0 ? server : server.substring(0, colon);
+            int port = colon < 0 ? GameServer.DEFAULT_PORT : Integer.parseInt(server.substring(colon + 1));
+            simulation = new SimulationThread(
+                    GameClient.connect(host, port, level == null ? new GameMap() : level));
+        } else if (level == null) {
+            simulation = new SimulationThread();
+        } else {
+            simulation = new SimulationThread(() -> new GameWorld(System.nanoTime(), level));
+        }
+
+        // --record=<directory> saves every session for Replay
+        String recordings = getParameters().getNamed().get("record");
+        if (recordings != null) {
+            simulation.recordTo(Files.createDirectories(Paths.get(recordings)));
+        }
+
+        // --latency-log=<file> logs frame and tick times as HdrHistogram interval histograms
+        String latencyFile = getParameters().getNamed().get("latency-log");
+        if (latencyFile != null) {
+            latencyLog = new HistogramLog(Paths.get(latencyFile));
+            frameLog = latencyLog.series("frame");
+            simulation.logTicksTo(latencyLog.series("tick"));
+        }
+
+        // Frame timing table, toggled with F3
+        ProfilerOverlay profilerOverlay = new ProfilerOverlay(simulation.getProfiler());
+
+        // Input handling
+        InputHandler inputHandler = new InputHandler();
+        scene.setOnKeyPressed(event -> inputHandler.add(event.getCode()));
+        scene.setOnKeyReleased(event -> {
+            inputHandler.remove(event.getCode());
+
+            // Toggle pause with 'P' key
+            if (event.getCode() == KeyCode.P) {
+                if (pause[0]) {
+                    uiLayer.getChildren().remove(pauseText);
+                    uiLayer.getChildren().remove(restartText);
+                } else {
+                    uiLayer.getChildren().add(pauseText);
+                    uiLayer.getChildren().add(restartText);
+                }
+                pause[0] = !pause[0];
+                simulation.setPaused(pause[0]);
+            }
+
+            // Toggle the frame timing overlay with 'F3'
+            if (event.getCode() == KeyCode.F3) {
+                if (profilerOverlay.isVisible()) {
+                    uiLayer.getChildren().remove(profilerOverlay.getLabel());
+                } else {
+                    uiLayer.getChildren().add(profilerOverlay.getLabel());
+                }
+                profilerOverlay.setVisible(!profilerOverlay.isVisible());
+            }
+        });
+
+
+        // Initialize the renderer and start the simulation
+        AssetRegistry assets = new AssetRegistry("assets");
+        assets.preloadAll();
+        GameRenderer renderer = new GameRenderer(root, assets, 1080, 720);
+        simulation.start();
+
+        // Score display
+        Label scoreLabel = new Label("Score: 0");
+        scoreLabel.setFont(Font.font("Monospaced", FontWeight.BOLD, 30));
+        scoreLabel.setTextFill(Color.GRAY);
+        scoreLabel.setLayoutX(15);
+        scoreLabel.setLayoutY(10);
+        uiLayer.getChildren().add(scoreLabel);
+
+        // Life display
+        Label lifeLabel = new Label("Life: 3");
+        lifeLabel.setFont(Font.font("Monospaced", FontWeight.BOLD, 30));
+        lifeLabel.setTextFill(Color.GREEN);
+        lifeLabel.setLayoutX(15);
+        lifeLabel.setLayoutY(45);
+        uiLayer.getChildren().add(lifeLabel);
+
+        final Boolean[] gameOver = {false};
+
+        // World generation the UI was last set up for
+        final long[] generation = {-1};
+
+        // Main game loop using AnimationTimer
+        AnimationTimer gameLoop = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                if (frameLog != null && lastFrame != 0) {
+                    frameLog.record(now, now - lastFrame);
+                }
+                lastFrame = now;
+                if (stressTest != null && stressTest.isFinished()) {
+                    Platform.exit();
+                    return;
+                }
+                simulation.setInput(inputHandler.getPlayerInput());
+                RenderSnapshot snapshot = simulation.latestSnapshot();
+
+                // A restart has gone through: put the HUD back
+                if (snapshot.getGeneration() != generation[0]) {
+                    generation[0] = snapshot.getGeneration();
+                    uiLayer.getChildren().clear();
+                    gameOver[0] = false;
+                    restarting = false;
+
+                    uiLayer.getChildren().addAll(scoreLabel, lifeLabel);
+                    if (profilerOverlay.isVisible()) {
+                        uiLayer.getChildren().add(profilerOverlay.getLabel());
+                    }
+                    scoreLabel.setText("Score: 0");
+                    lifeLabel.setText("Life: 3" );
+
+                    if (pause[0]) {
+                        pause[0] = false;
+                        simulation.setPaused(false);
+                    }
+                }
+
+                if (!gameOver[0]) {
+                    if (pause[0]) {
+                        // Restart while paused
+                        if (inputHandler.isPressed(KeyCode.R)) {
+                            restart(snapshot, false);
+                        }
+                        if (inputHandler.isPressed(KeyCode.ESCAPE)) {
+                            Platform.exit();
+                        }
+                    } else {
+                        // Draw the snapshot interpolated by how long ago it was published,
+                        // as a fraction of a 60Hz tick (the renderer also moves the camera)
+                        long renderStart = profilerOverlay.beginRender(now);
+                        double alpha = (System.nanoTime() - snapshot.getPublishedAt())
+                                / (double) simulation.getStepNanos();
+                        renderer.render(snapshot, Math.max(0, Math.min(1, alpha)));
+
+                        // Update UI elements
+                        scoreLabel.setText("Score: " + snapshot.getScore());
+                        lifeLabel.setText("Life: " + snapshot.getLife());
+                        profilerOverlay.endRender(renderStart, snapshot);
+
+                        // Check for game over
+                        if (snapshot.getLife() <= 0) {
+                            gameOver[0] = true;
+
+                            root.getChildren().clear();
+
+                            // Show "Game Over" message
+                            Label gameOverLabel = new Label("GAME OVER\nPress R to Restart");
+                            gameOverLabel.setFont(Font.font("Monospaced", FontWeight.BOLD, 48));
+                            gameOverLabel.setTextFill(Color.RED);
+                            gameOverLabel.setLayoutX(300);
+                            gameOverLabel.setLayoutY(300);
+                            uiLayer.getChildren().add(gameOverLabel);
+
+                            // Show final score
+                            Label score = new Label("Your Score is " + snapshot.getScore());
+                            score.setFont(Font.font("Monospaced", FontWeight.BOLD, 48));
+                            score.setTextFill(Color.GREEN);
+                            score.setLayoutX(300);
+                            score.setLayoutY(100);
+                            uiLayer.getChildren().add(score);
+                        }
+                    }
+
+                } else {
+                    // Restart after game over
+                    if (inputHandler.isPressed(KeyCode.R)) {
+                        restart(snapshot, true);
+                    }
+                }
+            }
+        };
+        gameLoop.start();
+
+        // Show the window
+        stage.setScene(scene);
+        stage.show();
+    }
+
+    /**
+     * Asks the simulation for a new world, and records a JFR restart event for the
+     * game that ends; holding R for several frames only restarts once.
+     */
+    private void restart(RenderSnapshot snapshot, boolean gameOver) {
+        if (restarting) {
+            return;
+        }
+        restarting = true;
+        simulation.requestRestart();
+
+        GameEvents.Restart event = new GameEvents.Restart();
+        if (event.isEnabled()) {
+            event.frame = snapshot.getFrame();
+            event.score = snapshot.getScore();
+            event.life = snapshot.getLife();
+            event.gameOver = gameOver;
+            event.commit();
+        }
+    }
+
+    /**
+     * Called by JavaFX when the application exits, whether by ESC or by closing the window.
+     */
+    @Override
+    public void stop() {
+        if (simulation != null) {
+            simulation.stop();
+        }
+        if (latencyLog != null) {
+            frameLog.finish(System.nanoTime());
+            try {
+                latencyLog.close();
+            } catch (IOException e) {
+                System.err.println("Could not finish the latency log: " + e);
+            }
+        }
+    }
+}
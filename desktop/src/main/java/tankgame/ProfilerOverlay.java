@@ -0,0 +1,131 @@
+package tankgame;
+
+import javafx.scene.control.Label;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+/**
+ * HUD table of frame timings: rolling p50/p99/max of every tick phase (measured on
+ * the simulation thread and carried over in the snapshots) and of the render side
+ * (measured here), plus the live entity counts.
+ * The timings are recorded without allocating; only the label text is rebuilt, and
+ * only every SUMMARY_INTERVAL frames.
+ */
+public class ProfilerOverlay {
+    // Render-side phases timed by this overlay's profiler
+    static final int PHASE_RENDER = 0;
+    static final int PHASE_FRAME = 1;
+    private static final String[] PHASE_NAMES = {"render", "frame"};
+
+    private final FrameProfiler renderProfiler = new FrameProfiler(PHASE_NAMES);
+    private final FrameProfiler tickProfiler;
+    private final Label label = new Label();
+    private final StringBuilder text = new StringBuilder(512);
+
+    // AnimationTimer time of the previous frame, or 0 before the first one
+    private long lastFrame = 0;
+    private int frames = 0;
+
+    /**
+     * @param tickProfiler the simulation's profiler, turned on and off with the overlay
+     */
+    public ProfilerOverlay(FrameProfiler tickProfiler) {
+        this.tickProfiler = tickProfiler;
+        label.setFont(Font.font("Monospaced", FontWeight.BOLD, 14));
+        label.setTextFill(Color.YELLOW);
+        label.setLayoutX(15);
+        label.setLayoutY(85);
+    }
+
+    public Label getLabel() {
+        return label;
+    }
+
+    public boolean isVisible() {
+        return renderProfiler.isEnabled();
+    }
+
+    /**
+     * Shows or hides the overlay; the timing only runs while it is shown.
+     */
+    public void setVisible(boolean visible) {
+        renderProfiler.setEnabled(visible);
+        tickProfiler.setEnabled(visible);
+        lastFrame = 0;
+    }
+
+    /**
+     * Starts timing the render of a frame; pass the result to endRender().
+     *
+     * @param now the AnimationTimer's time of this frame
+     */
+    public long beginRender(long now) {
+        long start = renderProfiler.start();
+        if (start != FrameProfiler.OFF && lastFrame != 0) {
+            renderProfiler.record(PHASE_FRAME, now - lastFrame);
+        }
+        lastFrame = now;
+        return start;
+    }
+
+    /**
+     * Records the render time and refreshes the table every SUMMARY_INTERVAL frames.
+     */
+    public void endRender(long start, RenderSnapshot snapshot) {
+        if (start == FrameProfiler.OFF) {
+            return;
+        }
+        renderProfiler.lap(PHASE_RENDER, start);
+        renderProfiler.endFrame();
+        if (++frames % FrameProfiler.SUMMARY_INTERVAL != 0) {
+            return;
+        }
+
+        text.setLength(0);
+        text.append("phase        p50     p99     max  (us)\n");
+        if (snapshot.isProfiling()) {
+            for (int phase = 0; phase < GameWorld.PHASE_NAMES.length; phase++) {
+                appendRow(GameWorld.PHASE_NAMES[phase], snapshot.getPhaseP50(phase),
+                        snapshot.getPhaseP99(phase), snapshot.getPhaseMax(phase));
+            }
+        }
+        for (int phase = 0; phase < PHASE_NAMES.length; phase++) {
+            appendRow(PHASE_NAMES[phase], renderProfiler.getP50(phase),
+                    renderProfiler.getP99(phase), renderProfiler.getMax(phase));
+        }
+        text.append("enemies ").append(snapshot.getTanks().size())
+                .append("  bullets ").append(snapshot.getBullets().size())
+                .append("  effects ").append(snapshot.getEffectCount());
+        label.setText(text.toString());
+    }
+
+    private void appendRow(String name, long p50, long p99, long max) {
+        text.append(name);
+        pad(8 - name.length());
+        appendMicros(p50);
+        appendMicros(p99);
+        appendMicros(max);
+        text.append('\n');
+    }
+
+    /**
+     * Appends nanoseconds as microseconds with one decimal, right-aligned in 8 columns.
+     */
+    private void appendMicros(long nanos) {
+        long tenths = (nanos + 50) / 100;
+        long whole = tenths / 10;
+        int digits = 1;
+        for (long rest = whole; rest >= 10; rest /= 10) {
+            digits++;
+        }
+        pad(8 - digits - 2);
+        text.append(whole).append('.').append(tenths % 10);
+    }
+
+    private void pad(int spaces) {
+        for (int i = 0; i < spaces; i++) {
+            text.append(' ');
+        }
+    }
+}
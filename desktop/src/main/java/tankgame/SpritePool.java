@@ -0,0 +1,73 @@
+package tankgame;
+
+import javafx.scene.Group;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.util.ArrayList;
+
+/**
+ * Reuses ImageView nodes for short-lived sprites (tanks, bullets, explosions).
+ * Nodes stay attached to the root and are only hidden when idle, so spawning and
+ * destroying entities does not add to or scan the root's children list.
+ */
+public class SpritePool {
+    private final Group root;
+
+    // Every node the pool has created, and the hidden ones ready to be handed out
+    private final ArrayList<ImageView> all = new ArrayList<>();
+    private final ArrayList<ImageView> free = new ArrayList<>();
+
+    public SpritePool(Group root) {
+        this.root = root;
+    }
+
+    /**
+     * Hands out a visible node showing the given image.
+     * A new node is only created when every pooled node is in use.
+     */
+    public ImageView acquire(Image image) {
+        ImageView view;
+        if (free.isEmpty()) {
+            view = new ImageView();
+            all.add(view);
+            root.getChildren().add(view);
+        } else {
+            view = free.remove(free.size() - 1);
+        }
+        view.setImage(image);
+        view.setVisible(true);
+        return view;
+    }
+
+    /**
+     * Hides a node and returns it to the pool. Releasing an idle node is ignored.
+     */
+    public void release(ImageView view) {
+        if (!view.isVisible()) {
+            return;
+        }
+        view.setVisible(false);
+        free.add(view);
+    }
+
+    /**
+     * Hides every node and attaches them again after the root has been cleared.
+     */
+    public void reset() {
+        free.clear();
+        for (ImageView view : all) {
+            view.setVisible(false);
+            free.add(view);
+        }
+        root.getChildren().addAll(all);
+    }
+
+    public int getCreatedCount() {
+        return all.size();
+    }
+
+    public int getInUseCount() {
+        return all.size() - free.size();
+    }
+}
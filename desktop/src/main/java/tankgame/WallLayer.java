@@ -0,0 +1,154 @@
+package tankgame;
+
+import javafx.scene.Group;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+
+import java.nio.IntBuffer;
+
+/**
+ * Draws the static wall tiles as a few pre-rasterized images instead of one node per tile.
+ * The map is split into square chunks of CHUNK_TILES tiles; each chunk is baked into a
+ * WritableImage shown by a single ImageView. A chunk is only baked the first time it
+ * comes into view and is hidden while it is outside the view, so the cost follows what
+ * is on screen rather than the map size. Chunks are baked again only when the map's
+ * version changes.
+ */
+public class WallLayer {
+    // Chunk edge length in tiles (1024 px)
+    static final int CHUNK_TILES = 64;
+
+    private static final int TILE = GameMap.TILE_SIZE;
+    private static final int CHUNK_PIXELS = CHUNK_TILES * TILE;
+
+    private final Group layer;
+
+    // Wall sprite scaled to one tile, and a fully transparent tile, as ARGB pixels
+    private final int[] wallPixels = new int[TILE * TILE];
+    private final int[] emptyPixels = new int[TILE * TILE];
+
+    // Chunk images and their views, indexed by chunkRow * chunkCols + chunkCol (null until first seen)
+    private WritableImage[] chunks = new WritableImage[0];
+    private ImageView[] chunkViews = new ImageView[0];
+    private int[] chunkVersions = new int[0];
+
+    private GameMap map;
+    private int chunkRows, chunkCols;
+
+    // Chunk range shown last frame (inclusive), empty when minChunkRow > maxChunkRow
+    private int minChunkRow = 0, maxChunkRow = -1, minChunkCol = 0, maxChunkCol = -1;
+
+    /**
+     * @param layer the group the chunk views are added to
+     * @param wallImage the wall sprite
+     */
+    public WallLayer(Group layer, Image wallImage) {
+        this.layer = layer;
+        scaleToTile(wallImage);
+    }
+
+    /**
+     * Samples the wall sprite into a TILE x TILE pixel block (nearest neighbour),
+     * matching the old per-tile ImageView that stretched it to the tile size.
+     */
+    private void scaleToTile(Image wallImage) {
+        PixelReader reader = wallImage.getPixelReader();
+        int width = (int) wallImage.getWidth();
+        int height = (int) wallImage.getHeight();
+        for (int y = 0; y < TILE; y++) {
+            for (int x = 0; x < TILE; x++) {
+                wallPixels[y * TILE + x] = reader.getArgb(x * width / TILE, y * height / TILE);
+            }
+        }
+    }
+
+    /**
+     * Prepares the chunk index for a new map. Nothing is baked until cull() finds it in view.
+     */
+    public void build(GameMap map) {
+        this.map = map;
+        chunkRows = (map.getRows() + CHUNK_TILES - 1) / CHUNK_TILES;
+        chunkCols = (map.getCols() + CHUNK_TILES - 1) / CHUNK_TILES;
+        chunks = new WritableImage[chunkRows * chunkCols];
+        chunkViews = new ImageView[chunkRows * chunkCols];
+        chunkVersions = new int[chunkRows * chunkCols];
+        minChunkRow = 0;
+        maxChunkRow = -1;
+        minChunkCol = 0;
+        maxChunkCol = -1;
+    }
+
+    /**
+     * Shows the chunks overlapping the given world rectangle and hides the ones that left it.
+     * Chunks are baked on first sight and re-baked if the map changed since.
+     */
+    public void cull(double minX, double minY, double maxX, double maxY) {
+        if (map == null) {
+            return;
+        }
+        int newMinRow = clamp((int) Math.floor(minY / CHUNK_PIXELS), chunkRows);
+        int newMaxRow = clamp((int) Math.floor(maxY / CHUNK_PIXELS), chunkRows);
+        int newMinCol = clamp((int) Math.floor(minX / CHUNK_PIXELS), chunkCols);
+        int newMaxCol = clamp((int) Math.floor(maxX / CHUNK_PIXELS), chunkCols);
+
+        // Hide the chunks that scrolled out of view
+        for (int row = minChunkRow; row <= maxChunkRow; row++) {
+            for (int col = minChunkCol; col <= maxChunkCol; col++) {
+                if (row < newMinRow || row > newMaxRow || col < newMinCol || col > newMaxCol) {
+                    chunkViews[row * chunkCols + col].setVisible(false);
+                }
+            }
+        }
+
+        for (int row = newMinRow; row <= newMaxRow; row++) {
+            for (int col = newMinCol; col <= newMaxCol; col++) {
+                show(row, col);
+            }
+        }
+        minChunkRow = newMinRow;
+        maxChunkRow = newMaxRow;
+        minChunkCol = newMinCol;
+        maxChunkCol = newMaxCol;
+    }
+
+    private void show(int chunkRow, int chunkCol) {
+        int index = chunkRow * chunkCols + chunkCol;
+        if (chunks[index] == null) {
+            int tilesWide = Math.min(CHUNK_TILES, map.getCols() - chunkCol * CHUNK_TILES);
+            int tilesHigh = Math.min(CHUNK_TILES, map.getRows() - chunkRow * CHUNK_TILES);
+            chunks[index] = new WritableImage(tilesWide * TILE, tilesHigh * TILE);
+            bake(chunks[index], chunkRow, chunkCol);
+            chunkVersions[index] = map.getVersion();
+
+            ImageView view = new ImageView(chunks[index]);
+            view.setX(chunkCol * CHUNK_PIXELS);
+            view.setY(chunkRow * CHUNK_PIXELS);
+            chunkViews[index] = view;
+            layer.getChildren().add(view);
+        } else if (chunkVersions[index] != map.getVersion()) {
+            bake(chunks[index], chunkRow, chunkCol);
+            chunkVersions[index] = map.getVersion();
+        }
+        chunkViews[index].setVisible(true);
+    }
+
+    private void bake(WritableImage chunk, int chunkRow, int chunkCol) {
+        PixelFormat<IntBuffer> format = PixelFormat.getIntArgbInstance();
+        int tilesWide = (int) chunk.getWidth() / TILE;
+        int tilesHigh = (int) chunk.getHeight() / TILE;
+        for (int row = 0; row < tilesHigh; row++) {
+            for (int col = 0; col < tilesWide; col++) {
+                boolean wall = map.isWall(chunkRow * CHUNK_TILES + row, chunkCol * CHUNK_TILES + col);
+                chunk.getPixelWriter().setPixels(col * TILE, row * TILE, TILE, TILE, format,
+                        wall ? wallPixels : emptyPixels, 0, TILE);
+            }
+        }
+    }
+
+    private static int clamp(int value, int count) {
+        return Math.max(0, Math.min(count - 1, value));
+    }
+}